@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Respec.
+
+    TQ Respec is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Respec is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package br.com.pinter.tqrespec.save;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link BlockMarkerScanner} with the byte-by-byte search previously used by
+ * {@link FileParser#buildBlocksTable()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockMarkerScannerBenchmark {
+    private static final byte[] BEGIN_BLOCK_BYTES = new byte[]{0x0B, 0x00, 0x00, 0x00, 0x62, 0x65, 0x67, 0x69, 0x6E, 0x5F, 0x62, 0x6C, 0x6F, 0x63, 0x6B};
+    private static final byte[] END_BLOCK_BYTES = new byte[]{0x09, 0x00, 0x00, 0x00, 0x65, 0x6E, 0x64, 0x5F, 0x62, 0x6C, 0x6F, 0x63, 0x6B};
+
+    @Param({"src/test/resources/_savegame/Player.chr", "src/test/resources/_mobile/Player.chr"})
+    private String file;
+
+    private ByteBuffer buffer;
+    private BlockMarkerScanner scanner;
+
+    @Setup
+    public void setup() throws IOException {
+        buffer = ByteBuffer.wrap(Files.readAllBytes(Path.of(file))).order(ByteOrder.LITTLE_ENDIAN);
+        scanner = new BlockMarkerScanner(BEGIN_BLOCK_BYTES, END_BLOCK_BYTES);
+    }
+
+    @Benchmark
+    public void scanner(Blackhole blackhole) {
+        scanner.scan(buffer, blackhole::consume, blackhole::consume);
+    }
+
+    @Benchmark
+    public void byteLoop(Blackhole blackhole) {
+        int foundBegin = 0;
+        int foundEnd = 0;
+        LinkedList<Integer> queueBegin = new LinkedList<>();
+
+        for (int i = 0; i < buffer.capacity(); i++) {
+            Byte b = buffer.get(i);
+
+            if (foundBegin > 0 && !b.equals(BEGIN_BLOCK_BYTES[foundBegin])) {
+                foundBegin = 0;
+            }
+
+            if (foundEnd > 0 && !b.equals(END_BLOCK_BYTES[foundEnd])) {
+                foundEnd = 0;
+            }
+
+            if (b.equals(BEGIN_BLOCK_BYTES[foundBegin]) && ++foundBegin == BEGIN_BLOCK_BYTES.length) {
+                int blockTagOffset = i - (foundBegin - 1);
+                queueBegin.add(blockTagOffset);
+                blackhole.consume(blockTagOffset);
+                foundBegin = 0;
+            }
+
+            if (b.equals(END_BLOCK_BYTES[foundEnd]) && ++foundEnd == END_BLOCK_BYTES.length) {
+                blackhole.consume(i - (foundEnd - 1));
+                blackhole.consume(queueBegin.removeLast());
+                foundEnd = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Respec.
+
+    TQ Respec is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Respec is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package br.com.pinter.tqrespec.save;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link Crc32} with the byte-at-a-time table loop previously used by {@link FileWriter#calculateCRC32}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Crc32Benchmark {
+    @Param({"src/test/resources/_savegame/Player.chr", "src/test/resources/_savegame/winsys.dxb"})
+    private String file;
+
+    private ByteBuffer buffer;
+    private ByteBuffer directBuffer;
+    private int[] table;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] data = Files.readAllBytes(Path.of(file));
+        buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        directBuffer = ByteBuffer.allocateDirect(data.length).put(data).flip();
+
+        table = new int[256];
+        for (int n = 0; n < 256; n++) {
+            int c = n;
+            for (int k = 0; k < 8; k++) {
+                c = (c & 1) != 0 ? (c >>> 1) ^ 0xedb88320 : c >>> 1;
+            }
+            table[n] = c;
+        }
+    }
+
+    @Benchmark
+    public int crc32() {
+        return Crc32.of(buffer);
+    }
+
+    @Benchmark
+    public int crc32Direct() {
+        return Crc32.of(directBuffer);
+    }
+
+    @Benchmark
+    public int tableLoop() {
+        int oldPosition = buffer.position();
+        byte[] data = new byte[buffer.capacity() - oldPosition];
+        buffer.get(data);
+        buffer.position(oldPosition);
+
+        int crc32 = 0;
+        for (byte b : data) {
+            crc32 = (crc32 >>> 8) ^ table[(crc32 ^ b) & 0xff];
+        }
+        return crc32;
+    }
+}
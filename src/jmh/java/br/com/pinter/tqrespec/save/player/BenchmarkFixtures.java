@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Respec.
+
+    TQ Respec is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Respec is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package br.com.pinter.tqrespec.save.player;
+
+import java.io.File;
+import java.nio.file.Path;
+
+/**
+ * Loads the test savegames used by the benchmarks of this package.
+ */
+final class BenchmarkFixtures {
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Parses the character file, returning the data as it's found after the character is loaded.
+     *
+     * @param file path of Player.chr
+     * @return the parsed character, without changes
+     */
+    static CurrentPlayerData load(String file) {
+        PlayerParser parser = new PlayerParser(new File(file), "benchmark");
+        parser.parse();
+        CurrentPlayerData saveData = new CurrentPlayerData();
+        saveData.setPlayerChr(Path.of(file));
+        saveData.setBuffer(parser.getBuffer());
+        saveData.setPlatform(parser.getDetectedPlatform());
+        saveData.getDataMap().setBlockInfo(parser.getBlockInfo());
+        saveData.getDataMap().setVariableLocation(parser.getVariableLocation());
+        return saveData;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Respec.
+
+    TQ Respec is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Respec is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package br.com.pinter.tqrespec.save.player;
+
+import br.com.pinter.tqrespec.save.FileDataMap;
+import br.com.pinter.tqrespec.save.Platform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the setters used when a character is edited, and the conversion between platforms. The map is restored
+ * before each iteration, so after the first invocation the setters are replacing a change already stored.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileDataMapBenchmark {
+    @Param({"src/test/resources/_savegame/Player.chr", "src/test/resources/_savegame2/Player.chr",
+            "src/test/resources/_mobile/Player.chr"})
+    private String file;
+
+    private FileDataMap parsed;
+    private FileDataMap dataMap;
+    private Platform target;
+    private int value;
+
+    @Setup
+    public void setup() {
+        parsed = BenchmarkFixtures.load(file).getDataMap();
+        target = Platform.MOBILE.equals(parsed.getPlatform()) ? Platform.WINDOWS : Platform.MOBILE;
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        dataMap = parsed.copy();
+    }
+
+    @Benchmark
+    public FileDataMap setInt() {
+        dataMap.setInt("money", ++value);
+        return dataMap;
+    }
+
+    @Benchmark
+    public FileDataMap setString() {
+        dataMap.setString("myPlayerName", (++value & 1) == 0 ? "Benchmark" : "BenchmarkRenamed");
+        return dataMap;
+    }
+
+    @Benchmark
+    public FileDataMap setTempAttr() {
+        dataMap.setTempAttr("str", 50 + (++value & 0xFF));
+        return dataMap;
+    }
+
+    @Benchmark
+    public FileDataMap convertTo() {
+        FileDataMap copy = parsed.copy();
+        copy.convertTo(target, "1234567890");
+        return copy;
+    }
+}
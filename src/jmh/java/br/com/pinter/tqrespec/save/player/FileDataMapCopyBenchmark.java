@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Respec.
+
+    TQ Respec is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Respec is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package br.com.pinter.tqrespec.save.player;
+
+import br.com.pinter.tqrespec.save.FileDataMap;
+import br.com.pinter.tqrespec.save.Platform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link FileDataMap#copy()}, alone and followed by a platform conversion (as done when a character is
+ * copied).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileDataMapCopyBenchmark {
+    @Param({"src/test/resources/_savegame/Player.chr", "src/test/resources/_mobile/Player.chr"})
+    private String file;
+
+    private FileDataMap dataMap;
+    private Platform target;
+
+    @Setup
+    public void setup() {
+        PlayerParser parser = new PlayerParser(new File(file), "benchmark");
+        parser.parse();
+        dataMap = new FileDataMap();
+        dataMap.setPlatform(parser.getDetectedPlatform());
+        dataMap.setBlockInfo(parser.getBlockInfo());
+        dataMap.setVariableLocation(parser.getVariableLocation());
+        dataMap.setInt("money", 12345);
+        target = Platform.MOBILE.equals(dataMap.getPlatform()) ? Platform.WINDOWS : Platform.MOBILE;
+    }
+
+    @Benchmark
+    public FileDataMap copy() {
+        return dataMap.copy();
+    }
+
+    @Benchmark
+    public FileDataMap copyAndConvert() {
+        FileDataMap copy = dataMap.copy();
+        copy.convertTo(target, "1234567890");
+        return copy;
+    }
+}
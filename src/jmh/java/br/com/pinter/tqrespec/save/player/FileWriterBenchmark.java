@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Respec.
+
+    TQ Respec is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Respec is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package br.com.pinter.tqrespec.save.player;
+
+import br.com.pinter.tqrespec.save.FileDataHolder;
+import br.com.pinter.tqrespec.save.FileWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures {@link FileWriter#writeBuffer(String, String)} writing an edited character to a temporary directory, with
+ * and without the checksum.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileWriterBenchmark {
+    @Param({"src/test/resources/_savegame/Player.chr", "src/test/resources/_savegame2/Player.chr",
+            "src/test/resources/_mobile/Player.chr"})
+    private String file;
+
+    @Param({"false", "true"})
+    private boolean createCrc;
+
+    private Path outputDir;
+    private BenchmarkWriter writer;
+
+    @Setup
+    public void setup() throws IOException {
+        CurrentPlayerData saveData = BenchmarkFixtures.load(file);
+        saveData.getDataMap().setInt("money", 12345);
+        saveData.getDataMap().setString("myPlayerName", "BenchmarkRenamed");
+        saveData.getDataMap().setTempAttr("str", 100);
+        outputDir = Files.createTempDirectory("tqrespec-jmh");
+        writer = new BenchmarkWriter(saveData, createCrc);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(outputDir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(p);
+            }
+        }
+    }
+
+    @Benchmark
+    public void writeBuffer() throws IOException {
+        writer.write(outputDir);
+    }
+
+    private static class BenchmarkWriter extends FileWriter {
+        private final CurrentPlayerData saveData;
+        private final boolean createCrc;
+
+        BenchmarkWriter(CurrentPlayerData saveData, boolean createCrc) {
+            this.saveData = saveData;
+            this.createCrc = createCrc;
+        }
+
+        void write(Path outputDir) throws IOException {
+            writeBuffer(outputDir.toString(), "Player.chr");
+        }
+
+        @Override
+        public boolean save() {
+            return false;
+        }
+
+        @Override
+        public int getCrcOffset() {
+            //character files have no checksum, any offset inside the file costs the same
+            return saveData.getBuffer().capacity() - Integer.BYTES;
+        }
+
+        @Override
+        public boolean isCreateCrc() {
+            return createCrc;
+        }
+
+        @Override
+        protected FileDataHolder getSaveData() {
+            return saveData;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Respec.
+
+    TQ Respec is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Respec is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package br.com.pinter.tqrespec.save.player;
+
+import br.com.pinter.tqrespec.tqdata.PlayerCharacter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parse of a whole character file, with all blocks parsed (sequentially and in parallel), only the blocks
+ * needed by the characters list and with the blocks parsed on demand.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayerParserBenchmark {
+    @Param({"src/test/resources/_savegame/Player.chr", "src/test/resources/_savegame2/Player.chr",
+            "src/test/resources/_mobile/Player.chr"})
+    private String file;
+
+    @Param({"false", "true"})
+    private boolean memoryMapped;
+
+    private PlayerParser newParser() {
+        PlayerParser parser = new PlayerParser(new File(file), "benchmark");
+        parser.setMemoryMapped(memoryMapped);
+        return parser;
+    }
+
+    @Benchmark
+    public PlayerParser parse() {
+        PlayerParser parser = newParser();
+        parser.parse();
+        return parser;
+    }
+
+    @Benchmark
+    public PlayerParser parseParallel() {
+        PlayerParser parser = newParser();
+        parser.setParallel(true);
+        parser.parse();
+        return parser;
+    }
+
+    @Benchmark
+    public PlayerParser parseLazy() {
+        PlayerParser parser = newParser();
+        parser.setLazy(true);
+        parser.parse();
+        return parser;
+    }
+
+    @Benchmark
+    public PlayerCharacter parseSummary() {
+        return newParser().parseSummary();
+    }
+}
@@ -22,8 +22,13 @@ package br.com.pinter.tqrespec;
 
 import br.com.pinter.tqrespec.tqdata.GameVersion;
 import br.com.pinter.tqrespec.tqdata.InstallType;
+import br.com.pinter.tqrespec.util.Constants;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.SystemUtils;
 
+import java.nio.file.Path;
 import java.util.prefs.Preferences;
+import java.util.zip.Deflater;
 
 public class Settings {
     public static void removeLastDetectedGame() {
@@ -100,12 +105,62 @@ public class Settings {
         prefs.putBoolean(Options.ALWAYS_FULL_BACKUP.getKey(), alwaysFullBackup);
     }
 
+    public static int getCharactersLoadThreads() {
+        Preferences prefs = Preferences.userNodeForPackage(Settings.class);
+        return Math.max(1, prefs.getInt(Options.CHARACTERS_LOAD_THREADS.getKey(), Runtime.getRuntime().availableProcessors()));
+    }
+
+    public static void setCharactersLoadThreads(int charactersLoadThreads) {
+        Preferences prefs = Preferences.userNodeForPackage(Settings.class);
+        if (charactersLoadThreads <= 0) {
+            prefs.remove(Options.CHARACTERS_LOAD_THREADS.getKey());
+        } else {
+            prefs.putInt(Options.CHARACTERS_LOAD_THREADS.getKey(), charactersLoadThreads);
+        }
+    }
+
+    /**
+     * Compression level of the savegame backups, from 0 (files are stored) to 9, -1 is the default of the compressor.
+     */
+    public static int getBackupCompressionLevel() {
+        Preferences prefs = Preferences.userNodeForPackage(Settings.class);
+        int level = prefs.getInt(Options.BACKUP_COMPRESSION_LEVEL.getKey(), Deflater.DEFAULT_COMPRESSION);
+        return level < 0 || level > 9 ? Deflater.DEFAULT_COMPRESSION : level;
+    }
+
+    public static void setBackupCompressionLevel(int backupCompressionLevel) {
+        Preferences prefs = Preferences.userNodeForPackage(Settings.class);
+        if (backupCompressionLevel < 0 || backupCompressionLevel > 9) {
+            prefs.remove(Options.BACKUP_COMPRESSION_LEVEL.getKey());
+        } else {
+            prefs.putInt(Options.BACKUP_COMPRESSION_LEVEL.getKey(), backupCompressionLevel);
+        }
+    }
+
+    /**
+     * Directory where data that can be rebuilt at any time (e.g. the characters list) is stored. On Windows it's
+     * under %LOCALAPPDATA%, on other systems under $XDG_CACHE_HOME (defaults to ~/.cache).
+     */
+    public static Path getCacheDirectory() {
+        String localAppData = System.getenv("LOCALAPPDATA");
+        if (SystemUtils.IS_OS_WINDOWS && StringUtils.isNotBlank(localAppData)) {
+            return Path.of(localAppData, Constants.APPNAME, "cache");
+        }
+        String xdgCacheHome = System.getenv("XDG_CACHE_HOME");
+        if (StringUtils.isNotBlank(xdgCacheHome)) {
+            return Path.of(xdgCacheHome, Constants.APPNAME.toLowerCase());
+        }
+        return Path.of(System.getProperty("user.home"), ".cache", Constants.APPNAME.toLowerCase());
+    }
+
     enum Options {
         LAST_DETECTED_GAMEPATH("last_detectedgamepath"),
         LAST_DETECTED_GAMEVERSION("last_detectedgameversion"),
         LAST_DETECTED_INSTALLTYPE("last_detectedinstalltype"),
         LAST_DETECTED_TQBASEPATH("last_detectedtqbasepath"),
         ALWAYS_FULL_BACKUP("always_fullbackup"),
+        CHARACTERS_LOAD_THREADS("characters_loadthreads"),
+        BACKUP_COMPRESSION_LEVEL("backup_compressionlevel"),
         ;
 
         private final String key;
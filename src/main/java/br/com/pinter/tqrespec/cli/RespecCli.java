@@ -0,0 +1,410 @@
+/*
+ * Copyright (C) 2025 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Respec.
+
+    TQ Respec is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Respec is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package br.com.pinter.tqrespec.cli;
+
+import br.com.pinter.tqdatabase.models.Skill;
+import br.com.pinter.tqdatabase.models.Teleport;
+import br.com.pinter.tqrespec.core.GuiceModule;
+import br.com.pinter.tqrespec.core.InjectionContext;
+import br.com.pinter.tqrespec.logging.Log;
+import br.com.pinter.tqrespec.save.SaveLocation;
+import br.com.pinter.tqrespec.save.player.Player;
+import br.com.pinter.tqrespec.save.player.PlayerSkill;
+import br.com.pinter.tqrespec.save.player.PlayerWriter;
+import br.com.pinter.tqrespec.tqdata.Db;
+import br.com.pinter.tqrespec.tqdata.DefaultMapTeleport;
+import br.com.pinter.tqrespec.tqdata.GameInfo;
+import br.com.pinter.tqrespec.tqdata.MapTeleport;
+import br.com.pinter.tqrespec.tqdata.PlayerCharacterFile;
+import br.com.pinter.tqrespec.tqdata.Txt;
+import br.com.pinter.tqrespec.util.Build;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.Provides;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Parameters;
+import picocli.CommandLine.Spec;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.lang.System.Logger.Level.ERROR;
+import static java.lang.System.Logger.Level.INFO;
+
+@Command(name = "respec-cli", mixinStandardHelpOptions = true, sortSynopsis = false,
+        versionProvider = RespecCli.VersionProvider.class,
+        description = """
+                Applies respec operations to many characters at once, without the user interface.
+                The characters are processed in parallel, each one is saved after a backup of its savegame.
+                """,
+        exitCodeListHeading = "%nExit codes:%n",
+        exitCodeList = {"0:All characters processed", "1:Error before processing the characters",
+                "2:Invalid options", "3:One or more characters failed"})
+public class RespecCli implements Callable<Integer> {
+    private static final System.Logger logger = Log.getLogger(RespecCli.class);
+    private static final int EXIT_ERROR = 1;
+    private static final int EXIT_CHARACTERS_FAILED = 3;
+
+    @Spec
+    private CommandSpec spec;
+
+    @Inject
+    private GameInfo gameInfo;
+
+    @Inject
+    private Db db;
+
+    @Inject
+    private Txt txt;
+
+    @Parameters(paramLabel = "<character>", arity = "0..*", description = "Names of the characters to change")
+    private List<String> characters;
+
+    @Option(names = {"--all", "-a"}, description = "Change all characters found in the save location", order = 0)
+    private boolean allCharacters;
+
+    @Option(names = {"--location"}, description = "Save location of the characters: ${COMPLETION-CANDIDATES}." +
+            " Default is MAIN.", paramLabel = "location", order = 1)
+    private SaveLocation location = SaveLocation.MAIN;
+
+    @Option(names = {"--reclaim-skills"}, description = "Reclaim the points of all skills, masteries are kept", order = 2)
+    private boolean reclaimSkills;
+
+    @Option(names = {"--reclaim-masteries"}, description = "Reclaim the points of masteries, keeping level 1." +
+            " Masteries with skills are skipped, use with --reclaim-skills to reclaim everything", order = 3)
+    private boolean reclaimMasteries;
+
+    @Option(names = {"--reclaim-attributes"}, description = "Reclaim the points of strength, intelligence, dexterity," +
+            " health and energy", order = 4)
+    private boolean reclaimAttributes;
+
+    @Option(names = {"--unlock-teleports"}, description = "Unlock all teleports in the difficulties unlocked by the" +
+            " character", order = 5)
+    private boolean unlockTeleports;
+
+    @Option(names = {"--dry-run", "-n"}, description = "Apply the operations and print the results, without saving", order = 6)
+    private boolean dryRun;
+
+    @Option(names = {"--no-backup"}, description = "Don't create a backup of the savegame before saving", order = 7)
+    private boolean skipBackup;
+
+    @Option(names = {"--max-threads", "-t"}, description = "Max threads, number of characters changed in parallel", order = 8)
+    private int maxThreads;
+
+    @Option(names = {"--logfile", "-l"}, description = "Logfile path", paramLabel = "file", order = 9)
+    private Path logfile;
+
+    private long wallTime;
+
+    public static void main(String[] args) {
+        final AtomicBoolean cleanShutdown = new AtomicBoolean();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (!cleanShutdown.get()) {
+                System.err.printf("%n%nAborted.%n");
+            }
+        }));
+        int exitCode = new CommandLine(new RespecCli()).execute(args);
+        cleanShutdown.set(true);
+        System.exit(exitCode);
+    }
+
+    @Override
+    public Integer call() {
+        if (!reclaimSkills && !reclaimMasteries && !reclaimAttributes && !unlockTeleports) {
+            throw new ParameterException(spec.commandLine(), "No operation specified");
+        }
+        if (allCharacters == (characters != null && !characters.isEmpty())) {
+            throw new ParameterException(spec.commandLine(), "Specify the characters or --all");
+        }
+        Log.setupGlobalLogging(logfile != null ? logfile : Path.of(System.getProperty("java.io.tmpdir"), "respec-cli.log"));
+        maxThreads = maxThreads <= 0 ? Math.max(1, Runtime.getRuntime().availableProcessors() - 1) : maxThreads;
+
+        prepareInjectionContext();
+        db.initialize();
+        db.skills().preload();
+        db.teleports().preload();
+        db.player().preload();
+
+        List<String> names = getCharacterNames();
+        if (names.isEmpty()) {
+            System.err.println("ERROR: No characters found");
+            return EXIT_ERROR;
+        }
+
+        List<CharacterResult> results;
+        try {
+            results = processCharacters(names);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("ERROR: Interrupted");
+            return EXIT_ERROR;
+        }
+        printSummary(results);
+        return results.stream().anyMatch(r -> r.error() != null) ? EXIT_CHARACTERS_FAILED : CommandLine.ExitCode.OK;
+    }
+
+    private List<String> getCharacterNames() {
+        List<String> found = gameInfo.getPlayerCharacterList(location).stream().map(PlayerCharacterFile::getPlayerName).toList();
+        if (allCharacters) {
+            return found;
+        }
+
+        List<String> ret = new ArrayList<>();
+        for (String name : characters) {
+            if (!found.contains(name)) {
+                throw new ParameterException(spec.commandLine(), String.format("Character '%s' not found", name));
+            }
+            if (!ret.contains(name)) {
+                ret.add(name);
+            }
+        }
+        return ret;
+    }
+
+    private List<CharacterResult> processCharacters(List<String> names) throws InterruptedException {
+        logger.log(INFO, "Processing {0} characters using {1} threads, dry-run: {2}", names.size(), maxThreads, dryRun);
+        List<CharacterResult> results = new ArrayList<>();
+        long start = System.nanoTime();
+        int threads = Math.min(maxThreads, names.size());
+        //the characters already use the threads, each backup is compressed by one thread
+        int backupThreads = threads > 1 ? 1 : Runtime.getRuntime().availableProcessors();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<CharacterResult>> futures = new ArrayList<>();
+            for (String name : names) {
+                futures.add(executor.submit(() -> processCharacter(name, backupThreads)));
+            }
+            for (Future<CharacterResult> f : futures) {
+                CharacterResult result = f.get();
+                printResult(result);
+                results.add(result);
+            }
+        } catch (ExecutionException e) {
+            //processCharacter handles its errors, this is a bug
+            throw new IllegalStateException(e.getCause());
+        }
+        wallTime = System.nanoTime() - start;
+        return results;
+    }
+
+    /**
+     * Loads, changes and saves one character. Each character uses its own {@link Player} and {@link PlayerWriter}
+     * created by a new injector, the database and game information are shared.
+     *
+     * @param name          the character name
+     * @param backupThreads threads used to compress the backup of the character
+     */
+    private CharacterResult processCharacter(String name, int backupThreads) {
+        long start = System.nanoTime();
+        try {
+            Injector injector = Guice.createInjector(new CharacterModule(gameInfo, db, txt));
+            Player player = injector.getInstance(Player.class);
+            PlayerWriter playerWriter = injector.getInstance(PlayerWriter.class);
+            playerWriter.setBackupThreads(backupThreads);
+            if (!player.loadPlayer(name, location)) {
+                return CharacterResult.failed(name, System.nanoTime() - start, "Unable to load the character");
+            }
+
+            int skillPointsBefore = player.getAvailableSkillPoints();
+            if (reclaimSkills) {
+                reclaimSkills(player);
+            }
+            int skippedMasteries = 0;
+            if (reclaimMasteries) {
+                skippedMasteries = reclaimMasteries(player);
+            }
+            int skillPoints = player.getAvailableSkillPoints() - skillPointsBefore;
+            int attributePoints = reclaimAttributes ? player.reclaimAttributePoints() : 0;
+            int teleports = unlockTeleports ? unlockTeleports(player) : 0;
+
+            boolean changed = skillPoints > 0 || attributePoints > 0 || teleports > 0;
+            boolean saved = false;
+            if (changed && !dryRun) {
+                if (!skipBackup && !playerWriter.backupCurrent()) {
+                    throw new IOException("Unable to create backup");
+                }
+                playerWriter.writeCharacter();
+                saved = true;
+            }
+            return new CharacterResult(name, System.nanoTime() - start, skillPoints, skippedMasteries, attributePoints,
+                    teleports, saved, null);
+        } catch (IOException | RuntimeException e) {
+            logger.log(ERROR, "Error processing character ''" + name + "''", e);
+            return CharacterResult.failed(name, System.nanoTime() - start,
+                    e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    private void reclaimSkills(Player player) {
+        for (Skill mastery : player.getPlayerMasteries()) {
+            for (Skill s : player.getPlayerSkillsFromMastery(mastery)) {
+                PlayerSkill sb = player.getPlayerSkills().get(s.getRecordPath());
+                if (sb == null || s.getRecordPath() == null) continue;
+                player.reclaimSkillPoints(sb);
+            }
+        }
+    }
+
+    /**
+     * @return the number of masteries skipped because they have skills
+     */
+    private int reclaimMasteries(Player player) {
+        int skipped = 0;
+        for (Skill mastery : player.getPlayerMasteries()) {
+            if (!player.getPlayerSkillsFromMastery(mastery).isEmpty()) {
+                skipped++;
+                continue;
+            }
+            PlayerSkill sb = player.getPlayerSkills().get(mastery.getRecordPath());
+            if (sb != null) {
+                player.reclaimMasteryPoints(sb);
+            }
+        }
+        return skipped;
+    }
+
+    /**
+     * @return the number of teleports unlocked, in all difficulties
+     */
+    private int unlockTeleports(Player player) {
+        int count = 0;
+        for (int difficulty = 0; difficulty <= player.getDifficulty(); difficulty++) {
+            List<MapTeleport> current = player.getDefaultMapTeleports(difficulty);
+            for (MapTeleport tp : DefaultMapTeleport.getAll()) {
+                Teleport teleport = db.teleports().getTeleport(tp.getRecordId());
+                if (teleport == null || current.contains(tp)) {
+                    continue;
+                }
+                player.insertTeleport(difficulty, tp.getUid());
+                count++;
+            }
+        }
+        if (count > 0) {
+            player.setTeleportUIDsSize();
+        }
+        return count;
+    }
+
+    private void printResult(CharacterResult r) {
+        if (r.error() != null) {
+            System.out.printf("%-32s ERROR: %s%n", r.name(), r.error());
+            return;
+        }
+        System.out.printf("%-32s skill points: %d, attribute points: %d, teleports: %d%s, %s (%.1fms)%n",
+                r.name(), r.skillPoints(), r.attributePoints(), r.teleports(),
+                r.skippedMasteries() > 0 ? ", masteries with skills skipped: " + r.skippedMasteries() : "",
+                r.saved() ? "saved" : (dryRun ? "not saved (dry-run)" : "unchanged"),
+                r.elapsed() / 1_000_000.0);
+    }
+
+    private void printSummary(List<CharacterResult> results) {
+        List<Long> latencies = results.stream().map(CharacterResult::elapsed).sorted(Comparator.naturalOrder()).toList();
+        long failed = results.stream().filter(r -> r.error() != null).count();
+        long saved = results.stream().filter(CharacterResult::saved).count();
+        double seconds = wallTime / 1_000_000_000.0;
+
+        System.out.printf("%nCharacters: %d, saved: %d, failed: %d%n", results.size(), saved, failed);
+        System.out.printf("Time: %.2fs, throughput: %.2f characters/s, threads: %d%n", seconds,
+                seconds > 0 ? results.size() / seconds : 0, Math.min(maxThreads, results.size()));
+        System.out.printf("Latency: avg %.1fms, p50 %.1fms, p95 %.1fms, max %.1fms%n",
+                latencies.stream().mapToLong(Long::longValue).average().orElse(0) / 1_000_000.0,
+                percentile(latencies, 50) / 1_000_000.0,
+                percentile(latencies, 95) / 1_000_000.0,
+                percentile(latencies, 100) / 1_000_000.0);
+        logger.log(INFO, "Characters: {0}, saved: {1}, failed: {2}, time: {3}ms", results.size(), saved, failed,
+                TimeUnit.NANOSECONDS.toMillis(wallTime));
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.clamp(index, 0, sorted.size() - 1));
+    }
+
+    public void prepareInjectionContext() {
+        List<Module> modules = new ArrayList<>();
+        modules.add(new GuiceModule());
+        InjectionContext injectionContext = new InjectionContext(this, modules);
+        injectionContext.initialize();
+    }
+
+    private record CharacterResult(String name, long elapsed, int skillPoints, int skippedMasteries,
+                                   int attributePoints, int teleports, boolean saved, String error) {
+        static CharacterResult failed(String name, long elapsed, String error) {
+            return new CharacterResult(name, elapsed, 0, 0, 0, 0, false, error);
+        }
+    }
+
+    /**
+     * Provides the instances shared by all characters. The character data is bound by Guice in each injector.
+     */
+    static class CharacterModule extends AbstractModule {
+        private final GameInfo gameInfo;
+        private final Db db;
+        private final Txt txt;
+
+        CharacterModule(GameInfo gameInfo, Db db, Txt txt) {
+            this.gameInfo = gameInfo;
+            this.db = db;
+            this.txt = txt;
+        }
+
+        @Provides
+        GameInfo gameInfo() {
+            return gameInfo;
+        }
+
+        @Provides
+        Db db() {
+            return db;
+        }
+
+        @Provides
+        Txt txt() {
+            return txt;
+        }
+    }
+
+    static class VersionProvider implements CommandLine.IVersionProvider {
+        @Override
+        public String[] getVersion() {
+            return new String[]{Build.title() + " " + Build.version()};
+        }
+    }
+}
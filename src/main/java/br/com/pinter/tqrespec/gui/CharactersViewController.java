@@ -26,7 +26,7 @@ import br.com.pinter.tqrespec.core.WorkerThread;
 import br.com.pinter.tqrespec.logging.Log;
 import br.com.pinter.tqrespec.save.SaveLocation;
 import br.com.pinter.tqrespec.save.player.Archiver;
-import br.com.pinter.tqrespec.save.player.PlayerLoader;
+import br.com.pinter.tqrespec.save.player.CharacterLoader;
 import br.com.pinter.tqrespec.tqdata.GameInfo;
 import br.com.pinter.tqrespec.tqdata.MapTeleport;
 import br.com.pinter.tqrespec.tqdata.Mastery;
@@ -77,6 +77,7 @@ import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -93,7 +94,7 @@ public class CharactersViewController implements Initializable {
     @Inject
     private GameInfo gameInfo;
     @Inject
-    private PlayerLoader player;
+    private CharacterLoader characterLoader;
     @Inject
     private Txt txt;
 
@@ -180,7 +181,6 @@ public class CharactersViewController implements Initializable {
         charactersTable.getItems().clear();
         charactersTable.getSortOrder().clear();
         Stage stage = (Stage) rootElement.getScene().getWindow();
-        player.reset();
         characters = null;
         stage.close();
         stage.setWidth(stage.getMinWidth());
@@ -217,35 +217,35 @@ public class CharactersViewController implements Initializable {
 
     private void loadCharacters() {
         loadingCharacters.set(true);
+        characters = new ArrayList<>();
 
         Platform.runLater(() -> {
             charactersTable.setPlaceholder(new Label(ResourceHelper.getMessage("characters.loadingPlaceholder")));
             rootElement.getScene().setCursor(Cursor.WAIT);
+            setupTable();
         });
 
-        characters = new ArrayList<>();
-        for (PlayerCharacterFile p : gameInfo.getPlayerCharacterList()) {
-            try {
-                player.loadPlayer(p.getPlayerName(), p.getLocation());
-            } catch (RuntimeException e) {
-                logger.log(ERROR, String.format("Error loading character '%s'", p));
-                continue;
-            }
-            characters.add(player.getCharacter());
+        try {
+            Map<PlayerCharacterFile, Exception> errors = characterLoader.load(gameInfo.getPlayerCharacterList(),
+                    playerCharacter -> Platform.runLater(() -> {
+                        characters.add(playerCharacter);
+                        charactersTable.getItems().add(playerCharacter);
+                    }));
+            errors.forEach((p, e) -> logger.log(ERROR, String.format("Error loading character '%s'", p), e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            Platform.runLater(() -> {
+                resizeCharactersTable();
+                charactersTable.setPlaceholder(new Label(""));
+                Platform.runLater(() -> rootElement.getScene().setCursor(Cursor.DEFAULT));
+                loadingCharacters.set(false);
+            });
         }
-
-        Platform.runLater(() -> {
-            setupTable();
-            charactersTable.setPlaceholder(new Label(""));
-            Platform.runLater(() -> rootElement.getScene().setCursor(Cursor.DEFAULT));
-            loadingCharacters.set(false);
-        });
     }
 
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        player.reset();
-
         Scene scene = new Scene(rootElement);
         Stage stage = new Stage();
 
@@ -454,18 +454,19 @@ public class CharactersViewController implements Initializable {
             return null;
         });
 
-        charactersTable.getItems().addAll(characters);
-
         charactersTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
-
-        resizeCharactersTable();
     }
 
     private void reset() {
         charactersTable.getItems().clear();
         characters.clear();
-        loadCharacters();
-        resizeCharactersTable();
+        new WorkerThread(new MyTask<>() {
+            @Override
+            protected Void call() {
+                loadCharacters();
+                return null;
+            }
+        }).start();
     }
 
     private void resizeCharactersTable() {
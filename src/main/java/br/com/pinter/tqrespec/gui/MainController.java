@@ -565,13 +565,49 @@ public class MainController implements Initializable {
                             ResourceHelper.getMessage("alert.errorsaving_content", Constants.BACKUP_DIRECTORY));
                 }
                 setAllControlsDisable(false);
-                reset();
+                if ((int) saveGameTask.getValue() == 2 && playerWriter.isSaveDataRebased()) {
+                    //the character loaded is up to date with the file saved, keep it selected
+                    refreshCharacterControls();
+                } else {
+                    reset();
+                }
             }
         });
         setCursorWaitOnTask(backupSaveGameTask);
         new WorkerThread(backupSaveGameTask).start();
     }
 
+    /**
+     * Fills the controls with the data of the character loaded. The skills pane is filled separately.
+     */
+    private void loadCharacterControls() {
+        playerProperties = new UiPlayerProperties(player);
+        pointsPaneController.loadCharHandler();
+        miscPaneController.loadCharEventHandler();
+        if (playerProperties.getAttrAvailable() >= 0) {
+            saveDisabled.set(false);
+        }
+        characterCombo.setDisable(false);
+        miscPaneController.disableControls(false);
+        tabPane.getSelectionModel().select(attributesTab);
+    }
+
+    /**
+     * Fills the controls again after the character is saved, with the data kept loaded.
+     */
+    private void refreshCharacterControls() {
+        pointsPaneController.clearProperties();
+        skillsPaneController.reset();
+        miscPaneController.reset();
+        unlockedEdit.set(false);
+        freeLvl.set(false);
+        saveDisabled.set(true);
+        pointsPaneController.disableControls(false);
+        miscPaneController.disableControls(false);
+        loadCharacterControls();
+        skillsPaneController.loadCharEventHandler();
+    }
+
     public void setAllControlsDisable(boolean disable) {
         saveDisabled.set(disable);
 
@@ -633,15 +669,7 @@ public class MainController implements Initializable {
         loadTask.addEventHandler(WorkerStateEvent.WORKER_STATE_SUCCEEDED, new MyEventHandler<>() {
             @Override
             public void handleEvent(WorkerStateEvent workerStateEvent) {
-                playerProperties = new UiPlayerProperties(player);
-                pointsPaneController.loadCharHandler();
-                miscPaneController.loadCharEventHandler();
-                if (playerProperties.getAttrAvailable() >= 0) {
-                    saveDisabled.set(false);
-                }
-                characterCombo.setDisable(false);
-                miscPaneController.disableControls(false);
-                tabPane.getSelectionModel().select(attributesTab);
+                loadCharacterControls();
             }
         });
 
@@ -27,17 +27,18 @@ import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
 
-import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.function.Supplier;
 
-public class BlockInfo implements Serializable {
+public class BlockInfo {
     private int start = -1;
     private int end = -1;
     private int size = -1;
     @JsonIgnore
-    private ImmutableListMultimap<String, VariableInfo> variables = ImmutableListMultimap.of();
+    private VariableTable variables = VariableTable.EMPTY;
     @JsonIgnore
-    private transient Multimap<String, VariableInfo> stagingVariables = MultimapBuilder.hashKeys().arrayListValues().build();
+    private final Multimap<String, VariableInfo> stagingVariables = MultimapBuilder.hashKeys().arrayListValues().build();
+    @JsonIgnore
+    private volatile Supplier<VariableTable> variablesLoader;
     @JsonIgnore
     private int parentOffset = -1;
     private BlockType blockType = FileBlockType.UNKNOWN;
@@ -79,22 +80,102 @@ public class BlockInfo implements Serializable {
         this.parentOffset = parentOffset;
     }
 
-    public ImmutableListMultimap<String, VariableInfo> getVariables() {
+    /**
+     * Returns the table of variables. If the block was mapped without parsing (lazy mode), it's parsed on the first
+     * call.
+     */
+    private VariableTable table() {
+        if (variablesLoader != null) {
+            synchronized (this) {
+                if (variablesLoader != null) {
+                    variables = variablesLoader.get();
+                    variablesLoader = null;
+                }
+            }
+        }
         return variables;
     }
 
-    public void setVariables(ImmutableListMultimap<String, VariableInfo> variables) {
+    /**
+     * Returns the variables of the block. The variables are stored by column, a new multimap (and new
+     * {@link VariableInfo} instances) is created on each call; to read some variables use
+     * {@link BlockInfo#getVariableByName(String)} or {@link BlockInfo#containsVariable(String)}.
+     *
+     * @return variables found in the block
+     */
+    @JsonIgnore
+    public ImmutableListMultimap<String, VariableInfo> getVariables() {
+        return table().toMultimap();
+    }
+
+    /**
+     * Returns the variables of the block, in the order they were stored. A new list is created on each call.
+     */
+    @JsonIgnore
+    public ImmutableList<VariableInfo> getVariableList() {
+        return table().values();
+    }
+
+    public ImmutableList<VariableInfo> getVariableByName(String name) {
+        return table().get(name);
+    }
+
+    public boolean containsVariable(String name) {
+        return table().contains(name);
+    }
+
+    public void setVariables(Multimap<String, VariableInfo> variables) {
+        setVariables(VariableTable.of(variables));
+    }
+
+    void setVariables(VariableTable variables) {
         this.variables = variables;
+        this.variablesLoader = null;
+    }
+
+    /**
+     * Defers the parse of the block variables until they are read.
+     *
+     * @param variablesLoader parses and returns the variables of this block
+     */
+    void setVariablesLoader(Supplier<VariableTable> variablesLoader) {
+        this.variablesLoader = variablesLoader;
+    }
+
+    /**
+     * @return false if the variables of the block were not parsed yet
+     */
+    public boolean isParsed() {
+        return variablesLoader == null;
+    }
+
+    /**
+     * Checks if the block has variables, without parsing it.
+     */
+    boolean hasVariables() {
+        return variablesLoader != null || !variables.isEmpty();
+    }
+
+    /**
+     * Returns a copy of the block. The variables are not changed after the parse, so they are shared with the copy;
+     * a block not parsed yet stays that way, and the copy is parsed on its own when needed.
+     */
+    BlockInfo copy() {
+        BlockInfo copy = new BlockInfo();
+        copy.start = start;
+        copy.end = end;
+        copy.size = size;
+        copy.parentOffset = parentOffset;
+        copy.blockType = blockType;
+        synchronized (this) {
+            copy.variables = variables;
+            copy.variablesLoader = variablesLoader;
+        }
+        return copy;
     }
 
     public ImmutableList<VariableInfo> getVariableByAlias(String alias) {
-        ArrayList<VariableInfo> ret = new ArrayList<>();
-        for (VariableInfo v : variables.values()) {
-            if (v.getAlias().equals(alias)) {
-                ret.add(v);
-            }
-        }
-        return ImmutableList.copyOf(ret);
+        return table().getByAlias(alias);
     }
 
     public BlockType getBlockType() {
@@ -106,10 +187,6 @@ public class BlockInfo implements Serializable {
     }
 
     public Multimap<String, VariableInfo> getStagingVariables() {
-        if (stagingVariables == null) {
-            // stagingVariables content is lost during deepClone
-            stagingVariables = MultimapBuilder.hashKeys().arrayListValues().build();
-        }
         return stagingVariables;
     }
 
@@ -119,7 +196,7 @@ public class BlockInfo implements Serializable {
                 "start=" + start +
                 ", end=" + end +
                 ", size=" + size +
-                ", variables=" + variables +
+                ", variables=" + (isParsed() ? variables : "<not parsed>") +
                 ", stagingVariables=" + stagingVariables +
                 ", parentOffset=" + parentOffset +
                 ", blockType=" + blockType +
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Respec.
+
+    TQ Respec is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Respec is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package br.com.pinter.tqrespec.save;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.IntConsumer;
+
+/**
+ * Searches the raw data for the length-prefixed block markers, reading 8 bytes at a time.
+ * <p>
+ * Each word is tested for the presence of the length prefix of both markers (SWAR), so the comparison with the
+ * whole marker only happens at candidate offsets. Since the first byte of the markers doesn't repeat inside them,
+ * every exact match is reported, in the same order a byte-by-byte search would find them.
+ */
+final class BlockMarkerScanner {
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+
+    private final byte[] beginMarker;
+    private final byte[] endMarker;
+    private final long beginPattern;
+    private final long endPattern;
+    private final int beginPrefix;
+    private final int endPrefix;
+
+    BlockMarkerScanner(byte[] beginMarker, byte[] endMarker) {
+        if (beginMarker.length < 4 || endMarker.length < 4 || beginMarker[0] == endMarker[0]) {
+            throw new IllegalArgumentException("markers must be length-prefixed and start with different bytes");
+        }
+        this.beginMarker = beginMarker;
+        this.endMarker = endMarker;
+        this.beginPattern = (beginMarker[0] & 0xFFL) * ONES;
+        this.endPattern = (endMarker[0] & 0xFFL) * ONES;
+        this.beginPrefix = prefix(beginMarker);
+        this.endPrefix = prefix(endMarker);
+    }
+
+    private static int prefix(byte[] marker) {
+        return ByteBuffer.wrap(marker, 0, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+    }
+
+    /**
+     * Scans the whole buffer, from offset 0 to capacity. The buffer position and order are not changed.
+     *
+     * @param buffer  raw data
+     * @param onBegin receives the offset of the first byte of each begin marker found
+     * @param onEnd   receives the offset of the first byte of each end marker found
+     */
+    void scan(ByteBuffer buffer, IntConsumer onBegin, IntConsumer onEnd) {
+        ByteBuffer data = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int length = data.capacity();
+        int i = 0;
+
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            long word = data.getLong(i);
+            long found = zeroBytes(word ^ beginPattern) | zeroBytes(word ^ endPattern);
+            while (found != 0) {
+                int offset = i + (Long.numberOfTrailingZeros(found) >>> 3);
+                check(data, offset, onBegin, onEnd);
+                found &= found - 1;
+            }
+        }
+
+        for (; i < length; i++) {
+            check(data, i, onBegin, onEnd);
+        }
+    }
+
+    /**
+     * Returns a word with the high bit set in the bytes that may be zero. False positives are possible only above a
+     * byte that is really zero, and are discarded by {@link #check(ByteBuffer, int, IntConsumer, IntConsumer)}.
+     */
+    private static long zeroBytes(long word) {
+        return (word - ONES) & ~word & HIGHS;
+    }
+
+    private void check(ByteBuffer data, int offset, IntConsumer onBegin, IntConsumer onEnd) {
+        if (offset + 4 > data.capacity()) {
+            return;
+        }
+        int prefix = data.getInt(offset);
+        if (prefix == beginPrefix && matches(data, offset, beginMarker)) {
+            onBegin.accept(offset);
+        } else if (prefix == endPrefix && matches(data, offset, endMarker)) {
+            onEnd.accept(offset);
+        }
+    }
+
+    private static boolean matches(ByteBuffer data, int offset, byte[] marker) {
+        if (offset + marker.length > data.capacity()) {
+            return false;
+        }
+        for (int j = 4; j < marker.length; j++) {
+            if (data.get(offset + j) != marker[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Respec.
+
+    TQ Respec is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Respec is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package br.com.pinter.tqrespec.save;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Checksum used by the savegames: CRC-32 (same polynomial as {@link CRC32}), but starting with the register zeroed
+ * and without the final inversion.
+ * <p>
+ * The calculation is delegated to {@link CRC32}, which is intrinsified by the JVM. To start from a zeroed register, a
+ * 4-byte prefix that takes the register from the standard initial value to zero is fed first. Data can be added in
+ * several calls, as it is written.
+ */
+final class Crc32 {
+    private static final int POLYNOMIAL = 0xedb88320;
+    private static final byte[] ZERO_REGISTER_PREFIX = zeroRegisterPrefix();
+
+    private final CRC32 crc = new CRC32();
+
+    Crc32() {
+        reset();
+    }
+
+    /**
+     * Calculates the checksum of the remaining bytes of the buffer. The buffer position is not changed.
+     */
+    static int of(ByteBuffer buffer) {
+        Crc32 crc32 = new Crc32();
+        crc32.update(buffer);
+        return crc32.getValue();
+    }
+
+    /**
+     * Adds the remaining bytes of the buffer to the checksum. The buffer position is not changed.
+     */
+    void update(ByteBuffer buffer) {
+        crc.update(buffer.duplicate());
+    }
+
+    int getValue() {
+        return (int) ~crc.getValue();
+    }
+
+    void reset() {
+        crc.reset();
+        crc.update(ZERO_REGISTER_PREFIX);
+    }
+
+    /**
+     * Finds the 4 bytes that, starting from the standard initial register (0xFFFFFFFF), leave the register zeroed.
+     * Going backwards from the target, the top byte of each register identifies the table entry used in that step;
+     * then each byte is chosen to select that entry.
+     */
+    private static byte[] zeroRegisterPrefix() {
+        int[] table = new int[256];
+        for (int n = 0; n < 256; n++) {
+            int c = n;
+            for (int k = 0; k < 8; k++) {
+                c = (c & 1) != 0 ? (c >>> 1) ^ POLYNOMIAL : c >>> 1;
+            }
+            table[n] = c;
+        }
+
+        int[] index = new int[4];
+        int register = 0;
+        for (int i = 3; i >= 0; i--) {
+            index[i] = topByteIndex(table, register >>> 24);
+            register = (register ^ table[index[i]]) << 8;
+        }
+
+        byte[] prefix = new byte[4];
+        register = 0xffffffff;
+        for (int i = 0; i < 4; i++) {
+            prefix[i] = (byte) (register ^ index[i]);
+            register = (register >>> 8) ^ table[index[i]];
+        }
+        return prefix;
+    }
+
+    private static int topByteIndex(int[] table, int topByte) {
+        for (int n = 0; n < 256; n++) {
+            if (table[n] >>> 24 == topByte) {
+                return n;
+            }
+        }
+        throw new IllegalStateException("invalid crc table");
+    }
+}
@@ -78,6 +78,16 @@ abstract class DataChange implements Serializable {
         }
     }
 
+    /**
+     * Returns a copy of the change that can be modified without affecting this instance.
+     */
+    abstract DataChange copy();
+
+    void copyPaddingTo(DataChange copy) {
+        copy.padding = padding;
+        copy.paddingAfter = paddingAfter;
+    }
+
     public abstract boolean isRemove();
 
     public abstract void setRemove(boolean remove);
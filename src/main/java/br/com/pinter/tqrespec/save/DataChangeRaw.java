@@ -54,6 +54,13 @@ class DataChangeRaw extends DataChange implements Serializable {
         return result;
     }
 
+    @Override
+    DataChange copy() {
+        DataChangeRaw copy = new DataChangeRaw(offset, data, previouslength);
+        copyPaddingTo(copy);
+        return copy;
+    }
+
     @Override
     public boolean isVariable() {
         return false;
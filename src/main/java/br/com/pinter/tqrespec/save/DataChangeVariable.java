@@ -58,6 +58,16 @@ class DataChangeVariable extends DataChange implements Serializable {
         return Objects.hash(oldVariable, variables);
     }
 
+    @Override
+    DataChange copy() {
+        DataChangeVariable copy = new DataChangeVariable(oldVariable, null);
+        copy.remove = remove;
+        variables.forEach(v -> copy.variables.add(v.copy()));
+        copy.addVars.addAll(addVars);
+        copyPaddingTo(copy);
+        return copy;
+    }
+
     @Override
     public boolean isVariable() {
         return true;
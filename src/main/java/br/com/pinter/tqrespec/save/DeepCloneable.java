@@ -1,45 +0,0 @@
-/*
- * Copyright (C) 2021 Emerson Pinter - All Rights Reserved
- */
-
-/*    This file is part of TQ Respec.
-
-    TQ Respec is free software: you can redistribute it and/or modify
-    it under the terms of the GNU General Public License as published by
-    the Free Software Foundation, either version 3 of the License, or
-    (at your option) any later version.
-
-    TQ Respec is distributed in the hope that it will be useful,
-    but WITHOUT ANY WARRANTY; without even the implied warranty of
-    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
-    GNU General Public License for more details.
-
-    You should have received a copy of the GNU General Public License
-    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
-*/
-package br.com.pinter.tqrespec.save;
-
-import org.apache.commons.lang3.exception.CloneFailedException;
-
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.Serializable;
-
-interface DeepCloneable extends Serializable {
-    default Object deepClone() {
-        try {
-            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-            ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream);
-            objectOutputStream.writeUnshared(this);
-
-            ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(byteArrayOutputStream.toByteArray());
-            ObjectInputStream objectInputStream = new ObjectInputStream(byteArrayInputStream);
-            return objectInputStream.readUnshared();
-        } catch (IOException | ClassNotFoundException e) {
-            throw new CloneFailedException("deep clone failed", e);
-        }
-    }
-}
@@ -23,22 +23,28 @@ package br.com.pinter.tqrespec.save;
 import br.com.pinter.tqrespec.gui.ResourceHelper;
 import br.com.pinter.tqrespec.save.player.PlayerFileVariable;
 import br.com.pinter.tqrespec.tqdata.GameVersion;
+import com.google.common.collect.ImmutableListMultimap;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 @SuppressWarnings("SameParameterValue")
-public class FileDataMap implements DeepCloneable {
+public class FileDataMap {
     private static final String ALERT_INVALIDDATA = "alert.changesinvaliddata";
     private static final String MULTIPLE_DEFINITIONS_ERROR = "Variable is defined on multiple locations, aborting";
     private static final String INVALID_DATA_TYPE = "Variable '%s' has an unexpected data type";
-    private final Map<Integer, DataChange> changes = new ConcurrentHashMap<>();
+    private final Map<Integer, DataChange> changes = new ConcurrentSkipListMap<>();
+    private OffsetShiftIndex shifts = new OffsetShiftIndex();
     private Map<Integer, BlockInfo> blockInfo = new ConcurrentHashMap<>();
     private Map<String, List<Integer>> variableLocation = new ConcurrentHashMap<>();
     private Platform platform = Platform.WINDOWS;
@@ -57,6 +63,105 @@ public class FileDataMap implements DeepCloneable {
         return Objects.hash(super.hashCode(), changes);
     }
 
+    /**
+     * Returns a copy of the map that can be changed and converted without affecting this instance. The variables
+     * parsed from the file are shared, only the containers and the pending changes are copied.
+     */
+    public FileDataMap copy() {
+        FileDataMap copy = new FileDataMap();
+        copy.platform = platform;
+        blockInfo.forEach((offset, block) -> copy.blockInfo.put(offset, block.copy()));
+        variableLocation.forEach((name, blocks) -> {
+            synchronized (blocks) {
+                copy.variableLocation.put(name, Collections.synchronizedList(new ArrayList<>(blocks)));
+            }
+        });
+        changes.forEach((offset, change) -> copy.changes.put(offset, change.copy()));
+        copy.shifts = shifts.copy();
+        return copy;
+    }
+
+    /**
+     * Applies the pending changes to the blocks and variables, so the map describes the data written by
+     * {@link FileWriter} and can be changed again without parsing the new file. Blocks and variables after a change
+     * are moved by the difference between the length of the new and the previous value.
+     * <p>
+     * Only values of existing variables can be applied. Inserted or removed variables and blocks, and raw data,
+     * change the structure of the file; in that case nothing is changed and the file must be parsed again.
+     *
+     * @return true if the changes were applied and removed from the map
+     */
+    boolean rebase() {
+        if (!canRebase()) {
+            return false;
+        }
+
+        Map<Integer, BlockInfo> rebasedBlocks = new ConcurrentHashMap<>();
+        for (BlockInfo block : blockInfo.values()) {
+            BlockInfo rebased = block.copy();
+            int start = shifts.shiftedOffset(block.getStart());
+            int end = shifts.shiftedOffset(block.getEnd());
+            rebased.setStart(start);
+            rebased.setEnd(end);
+            rebased.setSize(end - start + 1);
+            if (block.getParentOffset() >= 0) {
+                rebased.setParentOffset(shifts.shiftedOffset(block.getParentOffset()));
+            }
+
+            //the variables read from the table are new instances, the table is shared with copies of the map
+            ImmutableListMultimap.Builder<String, VariableInfo> variables = ImmutableListMultimap.builder();
+            for (VariableInfo v : block.getVariableList()) {
+                VariableInfo variable = changes.get(v.getValOffset()) instanceof DataChangeVariable change
+                        ? change.getVariables().getFirst().copy() : v;
+                variable.setKeyOffset(shifts.shiftedOffset(v.getKeyOffset()));
+                variable.setValOffset(shifts.shiftedOffset(v.getValOffset()));
+                variable.setBlockOffset(start);
+                variables.put(v.getName(), variable);
+            }
+            rebased.setVariables(variables.build());
+            rebasedBlocks.put(start, rebased);
+        }
+
+        Map<String, List<Integer>> rebasedLocation = new ConcurrentHashMap<>();
+        variableLocation.forEach((name, blocks) -> {
+            List<Integer> rebased = Collections.synchronizedList(new ArrayList<>(blocks.size()));
+            synchronized (blocks) {
+                blocks.forEach(b -> rebased.add(shifts.shiftedOffset(b)));
+            }
+            rebasedLocation.put(name, rebased);
+        });
+
+        blockInfo = rebasedBlocks;
+        variableLocation = rebasedLocation;
+        changes.clear();
+        shifts.clear();
+        return true;
+    }
+
+    /**
+     * Checks if all pending changes can be applied by {@link #rebase()}, without changing anything.
+     *
+     * @return true if all changes only replace values of parsed variables
+     */
+    boolean canRebase() {
+        for (Map.Entry<Integer, DataChange> e : changes.entrySet()) {
+            if (!(e.getValue() instanceof DataChangeVariable change) || !isValueChange(e.getKey(), change)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the change only replaces the value of a parsed variable.
+     */
+    private static boolean isValueChange(int offset, DataChangeVariable change) {
+        VariableInfo old = change.getOldVariable();
+        return old != null && old.getVariableType() != VariableType.UNKNOWN && old.getValOffset() == offset
+                && !change.isRemove() && change.getAddVars().isEmpty() && change.getVariables().size() == 1
+                && change.getPadding().length == 0;
+    }
+
     public Map<Integer, BlockInfo> getBlockInfo() {
         return blockInfo;
     }
@@ -94,10 +199,32 @@ public class FileDataMap implements DeepCloneable {
         throw new IllegalArgumentException("invalid offset");
     }
 
+    /**
+     * @return offsets of the pending changes, in ascending order
+     */
     Set<Integer> changesKeySet() {
         return changes.keySet();
     }
 
+    /**
+     * Returns where the data found at the offset of the original file is located after the pending changes are
+     * written. For the size of the original file, returns the size of the new file.
+     *
+     * @param offset offset in the original data
+     * @return offset in the data written with the changes
+     */
+    public int getShiftedOffset(int offset) {
+        return shifts.shiftedOffset(offset);
+    }
+
+    /**
+     * Updates the length difference of the change at the offset, must be called whenever a change is stored.
+     */
+    private void updateShift(int offset) {
+        DataChange change = changes.get(offset);
+        shifts.put(offset, change == null ? 0 : change.data().length - change.previousValueLength());
+    }
+
     public Platform getPlatform() {
         return platform;
     }
@@ -109,6 +236,7 @@ public class FileDataMap implements DeepCloneable {
     public void clear() {
         blockInfo.clear();
         changes.clear();
+        shifts.clear();
         variableLocation.clear();
     }
 
@@ -123,7 +251,7 @@ public class FileDataMap implements DeepCloneable {
     }
 
     private void assertMultipleDefinitions(int block, String variable) {
-        if (getBlockInfo().get(block).getVariables().get(variable).size() > 1) {
+        if (getBlockInfo().get(block).getVariableByName(variable).size() > 1) {
             throw new IllegalStateException(MULTIPLE_DEFINITIONS_ERROR);
         }
     }
@@ -199,7 +327,7 @@ public class FileDataMap implements DeepCloneable {
                 changes.put(offset, changeVariable);
             }
         }
-
+        updateShift(offset);
     }
 
     /**
@@ -216,6 +344,7 @@ public class FileDataMap implements DeepCloneable {
         if (changes.get(offset) != null && newData.length == 0) {
             int previous = changes.get(offset).previousValueLength();
             changes.put(offset, new DataChangeRaw(offset, newData, previous));
+            updateShift(offset);
             return;
         }
 
@@ -224,6 +353,7 @@ public class FileDataMap implements DeepCloneable {
         } else {
             changes.get(offset).insertPadding(newData, position != -1);
         }
+        updateShift(offset);
     }
 
     /**
@@ -245,6 +375,7 @@ public class FileDataMap implements DeepCloneable {
         } else {
             changes.put(variable.getKeyOffset(), new DataChangeVariable(variable, null));
         }
+        updateShift(variable.getKeyOffset());
     }
 
     public boolean isRemoved(int offset) {
@@ -262,7 +393,7 @@ public class FileDataMap implements DeepCloneable {
 
     private VariableInfo getFirst(int block, String variable) {
         if (block >= 0) {
-            return getBlockInfo().get(block).getVariables().get(variable).getFirst();
+            return getBlockInfo().get(block).getVariableByName(variable).getFirst();
         }
         return null;
     }
@@ -270,7 +401,7 @@ public class FileDataMap implements DeepCloneable {
     private VariableInfo getFirst(String variable) {
         int block = searchFirstVariable(variable);
         if (block >= 0) {
-            return getBlockInfo().get(block).getVariables().get(variable).getFirst();
+            return getBlockInfo().get(block).getVariableByName(variable).getFirst();
         }
         return null;
     }
@@ -288,7 +419,9 @@ public class FileDataMap implements DeepCloneable {
     }
 
     public void validate() {
-        getBlockInfo().values().stream().flatMap(b -> b.getVariables().values().stream()).toList().forEach(v -> {
+        //blocks not parsed yet (lazy mode) had the variable names validated by the parser while mapping the block
+        getBlockInfo().values().stream().filter(BlockInfo::isParsed)
+                .flatMap(b -> b.getVariableList().stream()).toList().forEach(v -> {
             BlockInfo currentBlock = blockInfo.get(v.getBlockOffset());
             if (v.getBlockOffset() != currentBlock.getStart()) {
                 throw new InvalidVariableException("Savegame validation failed.");
@@ -300,7 +433,7 @@ public class FileDataMap implements DeepCloneable {
 
     private void convertWindowsToMobile(String saveId) {
         BlockInfo myPlayerNameBlock = this.blockInfo.get(variableLocation.get("myPlayerName").getFirst());
-        int myPlayerNameKeyOffset = myPlayerNameBlock.getVariables().get("myPlayerName").getFirst().getKeyOffset();
+        int myPlayerNameKeyOffset = myPlayerNameBlock.getVariableByName("myPlayerName").getFirst().getKeyOffset();
         VariableInfo variableInfo = VariableInfo.builder().name("mySaveId")
                 .blockOffset(myPlayerNameBlock.getStart())
                 .keyOffset(myPlayerNameKeyOffset)
@@ -309,7 +442,7 @@ public class FileDataMap implements DeepCloneable {
 
         insertVariable(variableInfo);
         for (VariableInfo v :
-                getBlockInfo().values().stream().flatMap(b -> b.getVariables().values().stream()).toList()) {
+                getBlockInfo().values().stream().flatMap(b -> b.getVariableList().stream()).toList()) {
             BlockInfo currentBlock = blockInfo.get(v.getBlockOffset());
             BlockType currentBlockType = currentBlock.getBlockType();
             PlayerFileVariable playerVar = PlayerFileVariable.getVar(Platform.WINDOWS, v.getName());
@@ -318,7 +451,7 @@ public class FileDataMap implements DeepCloneable {
                 if (v.getValSize() == 0)
                     continue;
 
-                VariableInfo newVar = (VariableInfo) v.deepClone();
+                VariableInfo newVar = v.copy();
                 if (hasChange(v)) {
                     newVar = getFirstChange(v);
                 }
@@ -330,7 +463,7 @@ public class FileDataMap implements DeepCloneable {
                     || (playerVar.variable().equals("version") && playerVar.location().equals(currentBlockType))) {
                 removeVariable(v);
             } else if (v.getName().equals("playerVersion") && getInt("playerVersion") > 5) {
-                VariableInfo newVar = (VariableInfo) v.deepClone();
+                VariableInfo newVar = v.copy();
                 if (hasChange(v)) {
                     newVar = getFirstChange(v);
                 }
@@ -342,9 +475,9 @@ public class FileDataMap implements DeepCloneable {
 
     private void convertMobileToWindows() {
         BlockInfo numberOfSacksBlock = this.blockInfo.get(variableLocation.get("numberOfSacks").getFirst());
-        VariableInfo numberOfSacks = numberOfSacksBlock.getVariables().get("numberOfSacks").getFirst();
+        VariableInfo numberOfSacks = numberOfSacksBlock.getVariableByName("numberOfSacks").getFirst();
 
-        for (VariableInfo v : getBlockInfo().get(numberOfSacksBlock.getStart()).getVariables().values().stream().toList()) {
+        for (VariableInfo v : getBlockInfo().get(numberOfSacksBlock.getStart()).getVariableList()) {
             if ((Integer) numberOfSacks.getValue() > 1 &&
                     (v.getName().equals("currentlyFocusedSackNumber") || v.getName().equals("currentlySelectedSackNumber"))) {
                 setInt(v, 1);
@@ -352,11 +485,11 @@ public class FileDataMap implements DeepCloneable {
         }
 
         for (VariableInfo v :
-                getBlockInfo().values().stream().flatMap(b -> b.getVariables().values().stream()).toList()) {
+                getBlockInfo().values().stream().flatMap(b -> b.getVariableList().stream()).toList()) {
             if (v.getName().equals("mySaveId") || v.getName().equals("currentDifficulty")) {
                 removeVariable(v);
             } else if (v.getName().equals("headerVersion")) {
-                VariableInfo newVar = (VariableInfo) v.deepClone();
+                VariableInfo newVar = v.copy();
                 if (hasChange(v)) {
                     newVar = getFirstChange(v);
                 }
@@ -367,7 +500,7 @@ public class FileDataMap implements DeepCloneable {
                     if (v.getValSize() == 0)
                         continue;
 
-                    VariableInfo newVar = (VariableInfo) v.deepClone();
+                    VariableInfo newVar = v.copy();
                     if (hasChange(v)) {
                         newVar = getFirstChange(v);
                     }
@@ -401,8 +534,8 @@ public class FileDataMap implements DeepCloneable {
         if (getVariableLocation().get(variable) != null) {
             int block = getVariableLocation().get(variable).getFirst();
             if (getBlockInfo().get(block) != null) {
-                for (VariableInfo vi : getBlockInfo().get(block).getVariables().values()) {
-                    if (vi.getValue() == null || !vi.getName().equals(variable)) {
+                for (VariableInfo vi : getBlockInfo().get(block).getVariableByName(variable)) {
+                    if (vi.getValue() == null) {
                         continue;
                     }
                     if (vi.getVariableType().equals(VariableType.STRING) || vi.getVariableType().equals(VariableType.STRING_UTF_16_LE) || vi.getVariableType().equals(VariableType.STRING_UTF_32_LE)) {
@@ -419,7 +552,7 @@ public class FileDataMap implements DeepCloneable {
 
         VariableInfo variableInfo = getFirst(variable);
         if (variableInfo != null && variableInfo.isString()) {
-            VariableInfo newVar = (VariableInfo) variableInfo.deepClone();
+            VariableInfo newVar = variableInfo.copy();
             newVar.setValue(value);
             storeChange(variableInfo, newVar);
         } else {
@@ -430,7 +563,7 @@ public class FileDataMap implements DeepCloneable {
     public void setString(VariableInfo variable, String value) {
         if (getBlockInfo().get(variable.getBlockOffset()) != null) {
             if (variable.isString()) {
-                VariableInfo newVar = (VariableInfo) variable.deepClone();
+                VariableInfo newVar = variable.copy();
                 newVar.setValue(value);
                 storeChange(variable, newVar);
             } else {
@@ -450,7 +583,7 @@ public class FileDataMap implements DeepCloneable {
         }
 
         if (variableInfo.isFloat()) {
-            VariableInfo newVar = (VariableInfo) variableInfo.deepClone();
+            VariableInfo newVar = variableInfo.copy();
             newVar.setValue(value);
             storeChange(variableInfo, newVar);
         } else {
@@ -461,7 +594,7 @@ public class FileDataMap implements DeepCloneable {
     private void setFloat(VariableInfo variable, int value) {
         if (getBlockInfo().get(variable.getBlockOffset()) != null) {
             if (variable.isFloat()) {
-                VariableInfo newVar = (VariableInfo) variable.deepClone();
+                VariableInfo newVar = variable.copy();
                 newVar.setValue((float) value);
                 storeChange(variable, newVar);
             } else {
@@ -497,7 +630,7 @@ public class FileDataMap implements DeepCloneable {
             }
 
             if (variableInfo.isInt()) {
-                VariableInfo newVar = (VariableInfo) variableInfo.deepClone();
+                VariableInfo newVar = variableInfo.copy();
                 newVar.setValue(value);
                 storeChange(variableInfo, newVar);
             } else {
@@ -516,7 +649,7 @@ public class FileDataMap implements DeepCloneable {
         }
 
         if (variableInfo.isInt()) {
-            VariableInfo newVar = (VariableInfo) variableInfo.deepClone();
+            VariableInfo newVar = variableInfo.copy();
             newVar.setValue(value);
             storeChange(variableInfo, newVar);
         } else {
@@ -553,7 +686,7 @@ public class FileDataMap implements DeepCloneable {
     public void setInt(VariableInfo variable, int value) {
         if (getBlockInfo().get(variable.getBlockOffset()) != null) {
             if (variable.isInt()) {
-                VariableInfo newVar = (VariableInfo) variable.deepClone();
+                VariableInfo newVar = variable.copy();
                 newVar.setValue(value);
                 storeChange(variable, newVar);
             } else {
@@ -625,8 +758,8 @@ public class FileDataMap implements DeepCloneable {
         if (getVariableLocation().get(variable) != null) {
             int block = getVariableLocation().get(variable).getFirst();
             if (getBlockInfo().get(block) != null) {
-                for (VariableInfo vi : getBlockInfo().get(block).getVariables().values()) {
-                    if (vi.getValue() == null || !vi.getName().equals(variable)) {
+                for (VariableInfo vi : getBlockInfo().get(block).getVariableByName(variable)) {
+                    if (vi.getValue() == null) {
                         continue;
                     }
                     if (vi.getVariableType().equals(VariableType.INTEGER)) {
@@ -644,8 +777,8 @@ public class FileDataMap implements DeepCloneable {
         if (getVariableLocation().get(variable) != null) {
             int block = getVariableLocation().get(variable).getFirst();
             if (getBlockInfo().get(block) != null) {
-                for (VariableInfo vi : getBlockInfo().get(block).getVariables().values()) {
-                    if (vi.getValue() == null || !vi.getName().equals(variable)) {
+                for (VariableInfo vi : getBlockInfo().get(block).getVariableByName(variable)) {
+                    if (vi.getValue() == null) {
                         continue;
                     }
                     if (vi.getVariableType().equals(VariableType.UID)) {
@@ -661,9 +794,10 @@ public class FileDataMap implements DeepCloneable {
         BlockInfo current = getBlockInfo().get(offset);
         //we shouldnt leave var changes in the list, the block will disappear
         // and nothing should be changed
-        for (VariableInfo v : current.getVariables().values()) {
+        for (VariableInfo v : current.getVariableList()) {
             if (hasChange(v)) {
                 changes.remove(v.getValOffset());
+                shifts.remove(v.getValOffset());
             }
         }
         storeChange(current.getStart(), new byte[0], current.getSize(), -1);
@@ -756,4 +890,133 @@ public class FileDataMap implements DeepCloneable {
             throw new IllegalArgumentException(String.format("attribute not found %s", attr));
         }
     }
+
+    /**
+     * Starts a batch of changes of values, see {@link Batch}.
+     */
+    public Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * Collects changes of values to store them together with {@link #commit()}. Each variable is resolved and
+     * validated once, when it's added to the batch, with the same rules of the setters of {@link FileDataMap}; a
+     * variable changed again keeps only the last value. The map is not changed until the commit, so a batch that fails
+     * the validation can be discarded.
+     */
+    public class Batch {
+        private final Map<String, VariableInfo> resolved = new HashMap<>();
+        private final Map<Integer, VariableInfo> oldValues = new LinkedHashMap<>();
+        private final Map<Integer, VariableInfo> newValues = new LinkedHashMap<>();
+
+        private Batch() {
+        }
+
+        public Batch setInt(String variable, int value) {
+            VariableInfo variableInfo = resolve(variable);
+            assertType(variableInfo.isInt(), variable);
+            newValue(variableInfo).setValue(value);
+            return this;
+        }
+
+        public Batch setInt(VariableInfo variable, int value) {
+            assertBlock(variable);
+            assertType(variable.isInt(), variable);
+            newValue(variable).setValue(value);
+            return this;
+        }
+
+        public Batch setFloat(String variable, float value) {
+            VariableInfo variableInfo = resolve(variable);
+            assertType(variableInfo.isFloat(), variable);
+            newValue(variableInfo).setValue(value);
+            return this;
+        }
+
+        public Batch setFloat(VariableInfo variable, float value) {
+            assertBlock(variable);
+            assertType(variable.isFloat(), variable);
+            newValue(variable).setValue(value);
+            return this;
+        }
+
+        public Batch setString(String variable, String value) {
+            VariableInfo variableInfo = resolve(variable);
+            if (!variableInfo.isString()) {
+                throw new IllegalArgumentException(ResourceHelper.getMessage(ALERT_INVALIDDATA, variable));
+            }
+            newValue(variableInfo).setValue(value);
+            return this;
+        }
+
+        public Batch setString(VariableInfo variable, String value) {
+            assertBlock(variable);
+            assertType(variable.isString(), variable);
+            newValue(variable).setValue(value);
+            return this;
+        }
+
+        public Batch setTempAttr(String attr, int value) {
+            List<VariableInfo> varList = getTempVariableInfo(attr);
+            if (varList.isEmpty() || varList.getFirst() == null) {
+                throw new IllegalArgumentException(String.format("attribute not found %s", attr));
+            }
+            VariableInfo attrVar = varList.getFirst();
+            if (attrVar.getVariableType() == VariableType.FLOAT) {
+                setFloat(attrVar, value);
+            } else if (attrVar.getVariableType() == VariableType.INTEGER) {
+                setInt(attrVar, value);
+            }
+            return this;
+        }
+
+        /**
+         * @return number of variables changed by the batch
+         */
+        public int size() {
+            return newValues.size();
+        }
+
+        /**
+         * Stores all changes of the batch, which is left empty.
+         */
+        public void commit() {
+            newValues.forEach((offset, newVar) -> storeChange(oldValues.get(offset), newVar));
+            oldValues.clear();
+            newValues.clear();
+        }
+
+        private VariableInfo resolve(String variable) {
+            VariableInfo variableInfo = resolved.get(variable);
+            if (variableInfo == null) {
+                variableInfo = getFirst(variable);
+                if (variableInfo == null) {
+                    throw new IllegalArgumentException(ResourceHelper.getMessage(ALERT_INVALIDDATA, variable));
+                }
+                assertMultipleDefinitions(variable);
+                resolved.put(variable, variableInfo);
+            }
+            return variableInfo;
+        }
+
+        private void assertBlock(VariableInfo variable) {
+            if (getBlockInfo().get(variable.getBlockOffset()) == null) {
+                throw new IllegalArgumentException(ResourceHelper.getMessage(ALERT_INVALIDDATA, variable));
+            }
+        }
+
+        private void assertType(boolean valid, Object variable) {
+            if (!valid) {
+                throw new NumberFormatException(String.format(INVALID_DATA_TYPE, variable));
+            }
+        }
+
+        /**
+         * Returns the copy of the variable that receives the new value, the same copy for every change of the variable.
+         */
+        private VariableInfo newValue(VariableInfo variable) {
+            oldValues.putIfAbsent(variable.getValOffset(), variable);
+            return newValues.computeIfAbsent(variable.getValOffset(), k -> variable.copy());
+        }
+    }
 }
@@ -24,7 +24,6 @@ import br.com.pinter.tqrespec.core.UnhandledRuntimeException;
 import br.com.pinter.tqrespec.logging.Log;
 import br.com.pinter.tqrespec.util.Constants;
 import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.MultimapBuilder;
 import org.apache.commons.lang3.NotImplementedException;
@@ -33,15 +32,24 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.IOException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.LinkedList;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static java.lang.System.Logger.Level.DEBUG;
 import static java.lang.System.Logger.Level.ERROR;
 import static java.lang.System.Logger.Level.INFO;
 import static java.lang.System.Logger.Level.TRACE;
@@ -55,13 +63,28 @@ public abstract class FileParser {
     protected static final int BEGIN_BLOCK_SIZE = BEGIN_BLOCK_BYTES.length + 4;
     private static final byte[] END_BLOCK_BYTES = new byte[]{0x09, 0x00, 0x00, 0x00, 0x65, 0x6E, 0x64, 0x5F, 0x62, 0x6C, 0x6F, 0x63, 0x6B};
     protected static final int END_BLOCK_SIZE = END_BLOCK_BYTES.length + 4;
+    private static final BlockMarkerScanner BLOCK_MARKER_SCANNER = new BlockMarkerScanner(BEGIN_BLOCK_BYTES, END_BLOCK_BYTES);
     private static final String BUG_VARIABLESIZE_ERROR_MSG = "BUG: variable size != 0";
+    //keys and values (record paths, item names) repeat across blocks and files, decoded strings are reused
+    private static final StringCache KEY_CACHE = new StringCache(1024, 64);
+    private static final StringCache VALUE_CACHE = new StringCache(4096, 256);
     private final ListMultimap<String, VariableInfo> specialVariableStore = MultimapBuilder.hashKeys().arrayListValues().build();
+    //view of the buffer and special variables used by a thread parsing blocks in parallel
+    private final ThreadLocal<ByteBuffer> workerBuffer = new ThreadLocal<>();
+    private final ThreadLocal<ListMultimap<String, VariableInfo>> workerSpecialVariableStore = new ThreadLocal<>();
     private ConcurrentHashMap<Integer, BlockInfo> blockInfoTable = new ConcurrentHashMap<>();
     private ConcurrentHashMap<String, List<Integer>> variableLocation = new ConcurrentHashMap<>();
+    //definitions found for the keys read, valid for the detected platform
+    private final Map<String, FileVariable> fileVariables = new ConcurrentHashMap<>();
+    private final Map<BlockType, Map<String, FileVariable>> blockFileVariables = new ConcurrentHashMap<>();
     private List<Integer> blocksIgnore = new ArrayList<>();
     private ByteBuffer buffer = null;
-    private Platform detectedPlatform = Platform.WINDOWS;
+    private volatile Platform detectedPlatform = Platform.WINDOWS;
+    //set while the blocks are parsed in parallel, when the platform can't change anymore
+    private volatile boolean platformFinal = false;
+    private boolean memoryMapped = false;
+    private boolean lazy = false;
+    private boolean parallel = false;
 
     public ConcurrentMap<Integer, BlockInfo> getBlockInfo() {
         return blockInfoTable;
@@ -72,7 +95,8 @@ public abstract class FileParser {
     }
 
     public ByteBuffer getBuffer() {
-        return buffer;
+        ByteBuffer view = workerBuffer.get();
+        return view != null ? view : buffer;
     }
 
     protected void setBuffer(ByteBuffer buffer) {
@@ -88,6 +112,13 @@ public abstract class FileParser {
     }
 
     protected void setDetectedPlatform(Platform detectedPlatform) {
+        if (platformFinal && !detectedPlatform.equals(this.detectedPlatform)) {
+            throw new PlatformChangedException();
+        }
+        if (!detectedPlatform.equals(this.detectedPlatform)) {
+            fileVariables.clear();
+            blockFileVariables.clear();
+        }
         this.detectedPlatform = detectedPlatform;
         if (detectedPlatform.equals(Platform.MOBILE)) {
             logger.log(INFO, "Mobile savegame detected");
@@ -95,6 +126,49 @@ public abstract class FileParser {
 
     }
 
+    public boolean isMemoryMapped() {
+        return memoryMapped;
+    }
+
+    /**
+     * When enabled, the file is mapped read-only instead of copied to the heap, and the buffer is a view of the mapping.
+     * The mapping keeps the file open until the buffer is collected (on Windows the file can't be replaced meanwhile),
+     * so this mode should be used for loads that won't overwrite the same file.
+     *
+     * @param memoryMapped true to map the file
+     */
+    public void setMemoryMapped(boolean memoryMapped) {
+        this.memoryMapped = memoryMapped;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * When enabled, {@link FileParser#parseAllBlocks()} only maps the variables of each block (names, block types and
+     * the variables index). The values are parsed when the variables of a block are read for the first time.
+     *
+     * @param lazy true to parse blocks on demand
+     */
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * When enabled, {@link FileParser#parseAllBlocks()} parses the top-level blocks (each one with all its children) in
+     * parallel, on the common {@link ForkJoinPool}. The result is the same of the sequential parse.
+     *
+     * @param parallel true to parse top-level blocks in parallel
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
     void reset() {
         blockInfoTable = new ConcurrentHashMap<>();
         variableLocation = new ConcurrentHashMap<>();
@@ -157,18 +231,51 @@ public abstract class FileParser {
      */
     protected abstract boolean readFile() throws IOException;
 
+    /**
+     * Loads the whole channel into the buffer, mapping the file when {@link FileParser#isMemoryMapped()} is set.
+     *
+     * @param in channel of the file being parsed
+     */
+    protected void readChannel(FileChannel in) throws IOException {
+        if (memoryMapped) {
+            setBuffer(in.map(FileChannel.MapMode.READ_ONLY, 0, in.size()));
+            this.getBuffer().order(ByteOrder.LITTLE_ENDIAN);
+            return;
+        }
+
+        setBuffer(ByteBuffer.allocate((int) in.size()));
+        this.getBuffer().order(ByteOrder.LITTLE_ENDIAN);
+
+        while (true) {
+            if (in.read(this.getBuffer()) <= 0) break;
+        }
+    }
+
     /**
      * This method is called to parse a block, and should return a table of variables found inside the block.
      *
      * @param block the block the method should parse.
      * @return a table with all variables found
      */
-    protected ImmutableListMultimap<String, VariableInfo> parseBlock(BlockInfo block) {
+    VariableTable parseBlock(BlockInfo block) {
+        return parseBlock(block, null);
+    }
+
+    /**
+     * Parses the variables of a block. A block mapped by {@link FileParser#indexBlock(BlockInfo)} is parsed with the
+     * types found then: the variables were already validated and indexed, and the block type is kept.
+     *
+     * @param block        the block to parse
+     * @param indexedTypes types of the variables found while mapping the block, or null to parse it from scratch
+     */
+    private VariableTable parseBlock(BlockInfo block, VariableType[] indexedTypes) {
+        boolean index = indexedTypes == null;
         ArrayListMultimap<String, VariableInfo> ret = ArrayListMultimap.create();
         BlockType blockType = FileBlockType.UNKNOWN;
+        int variable = 0;
         this.getBuffer().position(block.getStart() + BEGIN_BLOCK_SIZE);
 
-        specialVariableStore.clear();
+        getSpecialVariableStore().clear();
 
         while (this.getBuffer().position() < block.getEnd() - END_BLOCK_SIZE) {
             int keyOffset = getBuffer().position();
@@ -180,17 +287,22 @@ public abstract class FileParser {
                 continue;
             }
 
-            //pass current blockType (detected from previous variable read), so we can distinguish variables that repeat
-            try {
-                blockType = validateBlockType(block, name, blockType);
-            } catch (InvalidVariableException e) {
-                logger.log(ERROR, "Invalid variable ''{0}'' at block ''{1}'', offset ''{2}''", name, block.getStart(), keyOffset);
-                throw e;
-            }
+            VariableInfo variableInfo;
+            if (index) {
+                //pass current blockType (detected from previous variable read), so we can distinguish variables that repeat
+                try {
+                    blockType = validateBlockType(block, name, blockType);
+                } catch (InvalidVariableException e) {
+                    logger.log(ERROR, "Invalid variable ''{0}'' at block ''{1}'', offset ''{2}''", name, block.getStart(), keyOffset);
+                    throw e;
+                }
 
-            preprocessVariable(name, keyOffset, blockType);
+                preprocessVariable(name, keyOffset, blockType);
 
-            VariableInfo variableInfo = readVar(name, blockType);
+                variableInfo = readVar(name, blockType);
+            } else {
+                variableInfo = readValue(name, new VariableInfo(), indexedTypes[variable++]);
+            }
             variableInfo.setBlockOffset(block.getStart());
             variableInfo.setName(name);
             variableInfo.setKeyOffset(keyOffset);
@@ -201,17 +313,92 @@ public abstract class FileParser {
                 throw new IllegalStateException("Illegal block offset");
             }
             ret.put(variableInfo.getName(), variableInfo);
-            putVarIndex(variableInfo.getName(), block.getStart());
+            if (index) {
+                putVarIndex(variableInfo.getName(), block.getStart());
+            }
 
-            if (isDetectedBlockType(blockType) && !isDetectedBlockType(block.getBlockType())) {
+            if (index && isDetectedBlockType(blockType) && !isDetectedBlockType(block.getBlockType())) {
                 block.setBlockType(blockType);
             }
         }
 
         processBlockSpecialVariable(block);
 
+        if (index) {
+            block.setBlockType(blockType);
+        }
+        return VariableTable.of(ret);
+    }
+
+    /**
+     * Maps the variables of a block without reading the values, used in lazy mode. Block type and variables index are
+     * the same {@link FileParser#parseBlock(BlockInfo)} would produce, and the variables are parsed on demand.
+     *
+     * @param block the block to map
+     */
+    private void indexBlock(BlockInfo block) {
+        BlockType blockType = FileBlockType.UNKNOWN;
+        List<VariableType> types = new ArrayList<>();
+        this.getBuffer().position(block.getStart() + BEGIN_BLOCK_SIZE);
+
+        while (this.getBuffer().position() < block.getEnd() - END_BLOCK_SIZE) {
+            int keyOffset = getBuffer().position();
+            String name = readStringKey();
+
+            skipSubBlock(block, name, keyOffset);
+
+            if (StringUtils.isEmpty(name) || name.equals(END_BLOCK) || name.equals(BEGIN_BLOCK)) {
+                continue;
+            }
+
+            try {
+                blockType = validateBlockType(block, name, blockType);
+            } catch (InvalidVariableException e) {
+                logger.log(ERROR, "Invalid variable ''{0}'' at block ''{1}'', offset ''{2}''", name, block.getStart(), keyOffset);
+                throw e;
+            }
+
+            preprocessVariable(name, keyOffset, blockType);
+
+            types.add(skipVar(name, blockType));
+            putVarIndex(name, block.getStart());
+
+            if (isDetectedBlockType(blockType) && !isDetectedBlockType(block.getBlockType())) {
+                block.setBlockType(blockType);
+            }
+        }
+
         block.setBlockType(blockType);
-        return ImmutableListMultimap.copyOf(ret);
+        if (types.isEmpty()) {
+            block.setVariables(VariableTable.EMPTY);
+        } else {
+            VariableType[] indexedTypes = types.toArray(new VariableType[0]);
+            block.setVariablesLoader(() -> parseBlockOnDemand(block, indexedTypes));
+        }
+    }
+
+    /**
+     * Parses a block mapped by {@link FileParser#indexBlock(BlockInfo)}, on the thread reading its variables. The
+     * thread uses its own view of the buffer, so the position of the buffer shared with the FileDataHolder is not
+     * changed and blocks can be parsed concurrently.
+     */
+    private VariableTable parseBlockOnDemand(BlockInfo block, VariableType[] indexedTypes) {
+        ByteBuffer previousView = workerBuffer.get();
+        ListMultimap<String, VariableInfo> previousStore = workerSpecialVariableStore.get();
+        workerBuffer.set(buffer.duplicate().order(buffer.order()));
+        workerSpecialVariableStore.set(MultimapBuilder.hashKeys().arrayListValues().build());
+        try {
+            logger.log(TRACE, "parsing block ''{0}'' on demand", block.getStart());
+            return parseBlock(block, indexedTypes);
+        } finally {
+            if (previousView != null) {
+                workerBuffer.set(previousView);
+                workerSpecialVariableStore.set(previousStore);
+            } else {
+                workerBuffer.remove();
+                workerSpecialVariableStore.remove();
+            }
+        }
     }
 
     protected abstract void preprocessVariable(String name, int keyOffset, BlockType block);
@@ -235,21 +422,25 @@ public abstract class FileParser {
         BlockType blockType = previous;
         FileVariable fileVariable;
         final String invalidVarMsg = "An invalid variable (%s) was found in block %s, aborting.";
-        String varName = filterFileVariableName(name);
-        fileVariable = getPlatformFileVariable(getDetectedPlatform(), varName);
+        fileVariable = fileVariables.get(name);
         if (fileVariable == null) {
-            //try to detect the platform based on current variable
-            for (Platform t : Platform.values()) {
-                if (getPlatformFileVariable(t, varName) != null) {
-                    setDetectedPlatform(t);
-                    break;
+            String varName = filterFileVariableName(name);
+            fileVariable = getPlatformFileVariable(getDetectedPlatform(), varName);
+            if (fileVariable == null) {
+                //try to detect the platform based on current variable
+                for (Platform t : Platform.values()) {
+                    if (getPlatformFileVariable(t, varName) != null) {
+                        setDetectedPlatform(t);
+                        break;
+                    }
                 }
-            }
 
-            fileVariable = getFileVariable(varName);
-            if (fileVariable == null) {
-                throw new IllegalStateException(String.format(invalidVarMsg, name, block.getStart()));
+                fileVariable = getFileVariable(varName);
+                if (fileVariable == null) {
+                    throw new IllegalStateException(String.format(invalidVarMsg, name, block.getStart()));
+                }
             }
+            fileVariables.put(name, fileVariable);
         }
         if (!isDetectedBlockType(blockType)) {
             if (isDetectedBlockType(fileVariable.location())) {
@@ -310,7 +501,8 @@ public abstract class FileParser {
      * @return specialVariableStore
      */
     public ListMultimap<String, VariableInfo> getSpecialVariableStore() {
-        return specialVariableStore;
+        ListMultimap<String, VariableInfo> store = workerSpecialVariableStore.get();
+        return store != null ? store : specialVariableStore;
     }
 
     /**
@@ -318,13 +510,33 @@ public abstract class FileParser {
      * Blocks listed in {@link FileParser#blocksIgnore} are skipped (e.g. a header).
      */
     public void parseAllBlocks() {
-        for (BlockInfo block : blockInfoTable.values().stream().sorted(Comparator.comparing(BlockInfo::getStart)).toList()) {
+        List<BlockInfo> blocks = blockInfoTable.values().stream().sorted(Comparator.comparing(BlockInfo::getStart)).toList();
+        if (parallel) {
+            parseAllBlocksParallel(blocks);
+        } else {
+            parseBlocks(blocks);
+        }
+
+        if (lazy) {
+            //the blocks not parsed yet keep the parser, and are parsed with the types found while mapping them
+            fileVariables.clear();
+            blockFileVariables.clear();
+            specialVariableStore.clear();
+        }
+    }
+
+    private void parseBlocks(List<BlockInfo> blocks) {
+        for (BlockInfo block : blocks) {
             //ignore header
             if (block == null || getBlocksIgnore().contains(block.getStart())) {
                 continue;
             }
 
-            blockInfoTable.get(block.getStart()).setVariables(parseBlock(block));
+            if (lazy) {
+                indexBlock(block);
+            } else {
+                blockInfoTable.get(block.getStart()).setVariables(parseBlock(block));
+            }
 
             setParentType(block);
 
@@ -332,9 +544,92 @@ public abstract class FileParser {
         }
     }
 
+    /**
+     * Parses each top-level block, with its children, in a separate task. The blocks of a tree are parsed in order by
+     * the same task, so the block types found in the parents and the types propagated by
+     * {@link FileParser#setParentType(BlockInfo)} are the same of the sequential parse. The first tree is parsed before
+     * the others are started, since the platform can be detected while parsing it (e.g. mobile savegames identified
+     * by the variables of the main block). If the platform would change while parsing the other trees, they are
+     * parsed again sequentially, as the trees parsed after the detection depend on the new platform.
+     *
+     * @param blocks all blocks, sorted by start offset
+     */
+    private void parseAllBlocksParallel(List<BlockInfo> blocks) {
+        if (blocks.isEmpty()) {
+            return;
+        }
+
+        List<List<BlockInfo>> trees = new ArrayList<>();
+        for (BlockInfo block : blocks) {
+            if (block.getParentOffset() == -1 || trees.isEmpty()) {
+                trees.add(new ArrayList<>());
+            }
+            trees.getLast().add(block);
+        }
+
+        parseBlocks(trees.getFirst());
+
+        List<List<BlockInfo>> others = trees.subList(1, trees.size());
+        AtomicBoolean platformChanged = new AtomicBoolean();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        platformFinal = true;
+        try {
+            for (List<BlockInfo> tree : others) {
+                tasks.add(ForkJoinPool.commonPool().submit(() -> {
+                    if (platformChanged.get()) {
+                        return;
+                    }
+                    ByteBuffer shared = buffer;
+                    workerBuffer.set(shared.duplicate().order(shared.order()));
+                    workerSpecialVariableStore.set(MultimapBuilder.hashKeys().arrayListValues().build());
+                    try {
+                        parseBlocks(tree);
+                    } catch (PlatformChangedException e) {
+                        platformChanged.set(true);
+                    } finally {
+                        workerBuffer.remove();
+                        workerSpecialVariableStore.remove();
+                    }
+                }));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        } finally {
+            platformFinal = false;
+        }
+
+        if (platformChanged.get()) {
+            logger.log(DEBUG, "Platform detected while parsing blocks in parallel, parsing again sequentially");
+            List<BlockInfo> remaining = others.stream().flatMap(List::stream).toList();
+            discardParsedBlocks(remaining);
+            parseBlocks(remaining);
+        }
+
+        //the sequential parse adds the offsets in the order the blocks are found
+        for (List<Integer> offsets : variableLocation.values()) {
+            offsets.sort(Comparator.naturalOrder());
+        }
+    }
+
+    /**
+     * Restores the blocks to the state before the parse, removing the block types and the variables index found.
+     */
+    private void discardParsedBlocks(List<BlockInfo> blocks) {
+        Set<Integer> starts = new HashSet<>();
+        for (BlockInfo block : blocks) {
+            starts.add(block.getStart());
+            block.setBlockType(FileBlockType.UNKNOWN);
+        }
+        for (List<Integer> offsets : variableLocation.values()) {
+            offsets.removeIf(starts::contains);
+        }
+        variableLocation.values().removeIf(List::isEmpty);
+    }
+
     private void setParentType(BlockInfo block) {
         BlockInfo parentBlock = blockInfoTable.get(block.getParentOffset());
-        if (parentBlock != null && parentBlock.getVariables().isEmpty()
+        if (parentBlock != null && !parentBlock.hasVariables()
                 && parentBlock.getBlockType().equals(FileBlockType.UNKNOWN)) {
             parentBlock.setBlockType(block.getBlockType());
             setParentType(parentBlock);
@@ -345,52 +640,28 @@ public abstract class FileParser {
      * Searches the raw data for blocks
      */
     public void buildBlocksTable() {
-        int foundBegin = 0;
-        int foundEnd = 0;
-
-        LinkedList<Integer> queueBegin = new LinkedList<>();
-
-        int lastBegin = -1;
-        for (int i = 0; i < getBuffer().capacity(); i++) {
-            Byte b = getBuffer().get(i);
-
-            if (foundBegin > 0 && !b.equals(BEGIN_BLOCK_BYTES[foundBegin])) {
-                foundBegin = 0;
-            }
-
-            if (foundEnd > 0 && !b.equals(END_BLOCK_BYTES[foundEnd])) {
-                foundEnd = 0;
-            }
-
-            if (b.equals(BEGIN_BLOCK_BYTES[foundBegin]) && ++foundBegin == BEGIN_BLOCK_BYTES.length) {
-                int blockTagOffset = i - (foundBegin - 1);
-                queueBegin.add(blockTagOffset);
-                lastBegin = blockTagOffset;
-                foundBegin = 0;
-                logger.log(TRACE, "adding begin-block ''{0}'' to queue", blockTagOffset);
+        Deque<Integer> queueBegin = new ArrayDeque<>();
+
+        BLOCK_MARKER_SCANNER.scan(getBuffer(), blockTagOffset -> {
+            queueBegin.addLast(blockTagOffset);
+            logger.log(TRACE, "adding begin-block ''{0}'' to queue", blockTagOffset);
+        }, endTagOffset -> {
+            //discard 4 bytes after end_block
+            int blockEnd = endTagOffset + END_BLOCK_SIZE - 1;
+            int blockStart = queueBegin.removeLast();
+            BlockInfo block = new BlockInfo();
+            //byte offset where block starts
+            block.setStart(blockStart);
+            //byte offset where block ends
+            block.setEnd(blockEnd);
+            block.setSize(blockEnd - blockStart + 1);
+            if (queueBegin.peekLast() != null) {
+                block.setParentOffset(queueBegin.peekLast());
             }
+            blockInfoTable.put(blockStart, block);
+            logger.log(TRACE, "adding end-block ''{0}'' to queue, (start=''{1}'',end=''{2}'')", blockEnd, blockStart, blockEnd);
+        });
 
-            if (b.equals(END_BLOCK_BYTES[foundEnd]) && ++foundEnd == END_BLOCK_BYTES.length) {
-                //discard 4 bytes after end_block
-                int blockEnd = i + 4;
-                int blockStart = -1;
-                blockStart = queueBegin.removeLast();
-                BlockInfo block = new BlockInfo();
-                //byte offset where block starts
-                block.setStart(blockStart);
-                //byte offset where block ends
-                block.setEnd(blockEnd);
-                block.setSize(blockEnd - blockStart + 1);
-                if (lastBegin >= 0 && queueBegin.peekLast() != null) {
-                    block.setParentOffset(queueBegin.peekLast());
-                }
-                blockInfoTable.put(blockStart, block);
-                foundEnd = 0;
-                int logBlockStart = blockStart;
-                logger.log(TRACE, "adding end-block ''{0}'' to queue, (start=''{1}'',end=''{2}'')", blockEnd, logBlockStart, blockEnd);
-            }
-
-        }
         if (!queueBegin.isEmpty()) {
             logger.log(ERROR, queueBegin::toString);
             throw new UnhandledRuntimeException(String.format("Error building file map: '%s' data block(s) not closed. Corrupted file ?", queueBegin.size()));
@@ -419,10 +690,16 @@ public abstract class FileParser {
 
             len = variableInfo.getValBytesLength();
 
-            byte[] buf = new byte[len];
+            if (variableInfo.getVariableType().equals(VariableType.STRING) && len <= getBuffer().remaining()) {
+                int start = getBuffer().position();
+                variableInfo.setValue(VALUE_CACHE.get(getBuffer(), start, len));
+                getBuffer().position(start + len);
+            } else {
+                byte[] buf = new byte[len];
 
-            getBuffer().get(buf, 0, len);
-            variableInfo.setValue(new String(buf, charset));
+                getBuffer().get(buf, 0, len);
+                variableInfo.setValue(new String(buf, charset));
+            }
             variableInfo.setValOffset(valOffset);
         } catch (IOException e) {
             logger.log(ERROR, Constants.ERROR_MSG_EXCEPTION, e);
@@ -495,7 +772,6 @@ public abstract class FileParser {
     }
 
     protected String readStringKey() {
-        byte[] buf = null;
         int len = -1;
         int offset = getBuffer().position();
         try {
@@ -503,16 +779,12 @@ public abstract class FileParser {
             if (len <= 0 || len > getBuffer().remaining()) {
                 return null;
             }
-            buf = new byte[len];
-
-            getBuffer().get(buf, 0, len);
-            return new String(buf, StandardCharsets.UTF_8);
+            int start = getBuffer().position();
+            String key = KEY_CACHE.get(getBuffer(), start, len);
+            getBuffer().position(start + len);
+            return key;
         } catch (BufferUnderflowException e) {
-            String bufStr = null;
-            if (buf != null && buf.length < 50) {
-                bufStr = new String(buf);
-            }
-            throw new UnhandledRuntimeException(String.format("Error parsing string. Invalid data(strlen=%d,buf=%s,position=%d).", len, bufStr, offset), e.getCause());
+            throw new UnhandledRuntimeException(String.format("Error parsing string. Invalid data(strlen=%d,position=%d).", len, offset), e.getCause());
         }
     }
 
@@ -533,24 +805,10 @@ public abstract class FileParser {
     }
 
     VariableInfo readVar(String name, VariableInfo variableInfo, BlockType fileBlock) {
-        String varId = filterFileVariableName(name);
-
-        VariableType type;
-        FileVariable fileVariable = getFileVariable(varId);
-        type = getFileVariable(varId).type();
-
-        if (type == VariableType.UNKNOWN && fileVariable.location().equals(FileBlockType.MULTIPLE)) {
-            FileVariable fileVariableMultiple = getFileVariable(
-                    String.format("%s__%s", name, fileBlock.name()));
-
-            if (fileVariableMultiple == null) {
-                String msg = String.format("Variable definition for '%s' not found.", varId);
-                logger.log(ERROR, "Variable definition for ''{0}'' not found.", varId);
-                throw new UnhandledRuntimeException(msg);
-            }
-            type = fileVariableMultiple.type();
-        }
+        return readValue(name, variableInfo, getVariableType(name, fileBlock));
+    }
 
+    private VariableInfo readValue(String name, VariableInfo variableInfo, VariableType type) {
         variableInfo.setVariableType(type);
 
         switch (type) {
@@ -565,8 +823,97 @@ public abstract class FileParser {
         return variableInfo;
     }
 
+    /**
+     * Moves the buffer position to the end of the variable value, without reading it.
+     *
+     * @param name      variable name
+     * @param fileBlock the block type of the variable
+     * @return the type of the variable
+     */
+    VariableType skipVar(String name, BlockType fileBlock) {
+        VariableType type = getVariableType(name, fileBlock);
+
+        int len = switch (type) {
+            case INTEGER, FLOAT, UID -> type.dataTypeSize();
+            case STRING, STRING_UTF_16_LE, STRING_UTF_32_LE -> {
+                int strLen = getBuffer().getInt();
+                yield strLen <= 0 ? 0 : strLen * type.dataTypeSize();
+            }
+            case STREAM -> {
+                int streamLen = getBuffer().getInt();
+                yield streamLen <= 0 || streamLen > getBuffer().remaining() ? 0 : streamLen;
+            }
+            case null, default -> throw new IllegalArgumentException(String.format("Variable type undefined for '%s'.", name));
+        };
+
+        getBuffer().position(getBuffer().position() + len);
+        return type;
+    }
+
+    private VariableType getVariableType(String name, BlockType fileBlock) {
+        FileVariable fileVariable = fileVariables.get(name);
+        if (fileVariable == null) {
+            fileVariable = getFileVariable(filterFileVariableName(name));
+            if (fileVariable != null) {
+                fileVariables.put(name, fileVariable);
+            }
+        }
+
+        VariableType type = fileVariable.type();
+
+        if (type == VariableType.UNKNOWN && fileVariable.location().equals(FileBlockType.MULTIPLE)) {
+            Map<String, FileVariable> multiple = blockFileVariables.computeIfAbsent(fileBlock, k -> new ConcurrentHashMap<>());
+            FileVariable fileVariableMultiple = multiple.get(name);
+            if (fileVariableMultiple == null) {
+                fileVariableMultiple = getFileVariable(String.format("%s__%s", name, fileBlock.name()));
+                if (fileVariableMultiple == null) {
+                    String varId = filterFileVariableName(name);
+                    String msg = String.format("Variable definition for '%s' not found.", varId);
+                    logger.log(ERROR, "Variable definition for ''{0}'' not found.", varId);
+                    throw new UnhandledRuntimeException(msg);
+                }
+                multiple.put(name, fileVariableMultiple);
+            }
+            type = fileVariableMultiple.type();
+        }
+        return type;
+    }
+
+    /**
+     * Returns the key used to find the variable definition: the first sequence of letters, digits, '_', '$' and '.'
+     * found in the name, with dots replaced by underscores. Names already in that form are returned as is.
+     *
+     * @param name the variable name read from the file
+     * @return the variable id
+     */
     protected String filterFileVariableName(String name) {
-        String varId = name.replaceAll("^[^a-zA-Z_$0-9.]*([a-zA-Z_$0-9.]*).*$", "$1");
-        return varId.replace(".", "_");
+        int length = name.length();
+        int start = 0;
+        while (start < length && !isVariableNameChar(name.charAt(start))) {
+            start++;
+        }
+        int end = start;
+        boolean dot = false;
+        while (end < length && isVariableNameChar(name.charAt(end))) {
+            dot |= name.charAt(end) == '.';
+            end++;
+        }
+
+        String varId = start == 0 && end == length ? name : name.substring(start, end);
+        return dot ? varId.replace('.', '_') : varId;
+    }
+
+    private static boolean isVariableNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '_' || c == '$' || c == '.';
+    }
+
+    /**
+     * Thrown when the platform would change after {@link FileParser#platformFinal} is set.
+     */
+    private static class PlatformChangedException extends RuntimeException {
+        PlatformChangedException() {
+            super(null, null, false, false);
+        }
     }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Respec.
+
+    TQ Respec is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Respec is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package br.com.pinter.tqrespec.save;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps the length difference of each pending change by offset, to find where an offset of the original data is
+ * located in the data written with the changes.
+ * <p>
+ * The differences are summed by buckets of {@value #BUCKET_SIZE} bytes in a Fenwick tree, so the sum of all changes
+ * before an offset is found in O(log n): the buckets before it come from the tree, and the few changes in its own
+ * bucket from the ordered map.
+ */
+final class OffsetShiftIndex {
+    private static final int BUCKET_BITS = 6;
+    private static final int BUCKET_SIZE = 1 << BUCKET_BITS;
+
+    private final TreeMap<Integer, Integer> deltas = new TreeMap<>();
+    //1-based, tree[i] holds the sum of the buckets (i - lowbit(i), i]
+    private int[] tree = new int[1];
+
+    /**
+     * Sets the length difference of the change at the offset, replacing the previous one.
+     *
+     * @param offset offset of the change in the original data
+     * @param delta  length of the new data minus the length of the data replaced, zero removes the entry
+     */
+    synchronized void put(int offset, int delta) {
+        Integer previous = delta == 0 ? deltas.remove(offset) : deltas.put(offset, delta);
+        int difference = delta - (previous == null ? 0 : previous);
+        if (difference != 0) {
+            add(offset >>> BUCKET_BITS, difference);
+        }
+    }
+
+    synchronized void remove(int offset) {
+        put(offset, 0);
+    }
+
+    /**
+     * Returns the sum of the length differences of the changes located before the offset. A change at the offset
+     * itself replaces the data after it, so it's not included.
+     */
+    synchronized int shift(int offset) {
+        if (offset <= 0 || deltas.isEmpty()) {
+            return 0;
+        }
+        int bucket = offset >>> BUCKET_BITS;
+        int sum = 0;
+        for (int i = Math.min(bucket, tree.length - 1); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        for (int delta : deltas.subMap(bucket << BUCKET_BITS, offset).values()) {
+            sum += delta;
+        }
+        return sum;
+    }
+
+    /**
+     * @return the offset of the original data in the data written with the changes
+     */
+    int shiftedOffset(int offset) {
+        return offset + shift(offset);
+    }
+
+    synchronized void clear() {
+        deltas.clear();
+        tree = new int[1];
+    }
+
+    synchronized OffsetShiftIndex copy() {
+        OffsetShiftIndex copy = new OffsetShiftIndex();
+        copy.deltas.putAll(deltas);
+        copy.tree = tree.clone();
+        return copy;
+    }
+
+    /**
+     * Adds to the bucket, which is stored at the index bucket + 1 of the tree. The tree grows to the next power of two
+     * when needed.
+     */
+    private void add(int bucket, int difference) {
+        int index = bucket + 1;
+        if (index >= tree.length) {
+            rebuild(Integer.highestOneBit(index) << 1);
+            return;
+        }
+        for (int i = index; i < tree.length; i += i & -i) {
+            tree[i] += difference;
+        }
+    }
+
+    private void rebuild(int length) {
+        tree = new int[length];
+        for (Map.Entry<Integer, Integer> e : deltas.entrySet()) {
+            tree[(e.getKey() >>> BUCKET_BITS) + 1] += e.getValue();
+        }
+        for (int i = 1; i < length; i++) {
+            int parent = i + (i & -i);
+            if (parent < length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Respec.
+
+    TQ Respec is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Respec is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package br.com.pinter.tqrespec.save;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bounded cache of strings decoded from the raw data, indexed by the hash of the bytes.
+ * <p>
+ * A string already in the cache is returned without allocation: the bytes are compared in place, straight from the
+ * buffer. Each slot holds one string, a new string replaces the one in the same slot. Entries are immutable, so the
+ * cache can be shared by parsers running in different threads; a racing store only loses one of the strings.
+ */
+final class StringCache {
+    private final Entry[] entries;
+    private final int mask;
+    private final int maxLength;
+
+    private record Entry(int hash, byte[] bytes, String value) {
+    }
+
+    /**
+     * @param slots     number of strings kept, rounded up to a power of two
+     * @param maxLength strings longer than this (in bytes) are decoded without being cached
+     */
+    StringCache(int slots, int maxLength) {
+        int size = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        this.entries = new Entry[size];
+        this.mask = size - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Returns the UTF-8 string stored at the offset. The buffer position is not changed.
+     *
+     * @param buffer raw data
+     * @param offset absolute offset of the first byte
+     * @param length number of bytes
+     * @return the decoded string
+     */
+    String get(ByteBuffer buffer, int offset, int length) {
+        if (length > maxLength) {
+            return new String(bytes(buffer, offset, length), StandardCharsets.UTF_8);
+        }
+
+        int hash = 1;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + buffer.get(i);
+        }
+        int slot = (hash ^ (hash >>> 16)) & mask;
+
+        Entry entry = entries[slot];
+        if (entry != null && entry.hash == hash && matches(entry.bytes, buffer, offset, length)) {
+            return entry.value;
+        }
+
+        byte[] bytes = bytes(buffer, offset, length);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        entries[slot] = new Entry(hash, bytes, value);
+        return value;
+    }
+
+    private static boolean matches(byte[] bytes, ByteBuffer buffer, int offset, int length) {
+        if (bytes.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] != buffer.get(offset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] bytes(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes, 0, length);
+        return bytes;
+    }
+}
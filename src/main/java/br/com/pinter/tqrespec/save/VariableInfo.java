@@ -32,15 +32,16 @@ import java.util.Arrays;
 import java.util.Objects;
 
 @SuppressWarnings("unused")
-public class VariableInfo implements DeepCloneable, Serializable {
+public class VariableInfo implements Serializable {
     private String name = null;
     private String alias = null;
     private int keyOffset = -1;
     private int valOffset = -1;
     private int valSize = -1;
     private String valueString = null;
-    private Integer valueInteger = null;
-    private Float valueFloat = null;
+    //integer and float values are kept unboxed, numberType tells which one was set
+    private int valueNumber = 0;
+    private VariableType numberType = null;
     private byte[] valueByteArray = null;
     private VariableType variableType;
     private int blockOffset = -1;
@@ -50,21 +51,74 @@ public class VariableInfo implements DeepCloneable, Serializable {
         return new Builder();
     }
 
+    /**
+     * Returns a copy of the variable, the value can be changed without affecting this instance.
+     */
+    VariableInfo copy() {
+        VariableInfo copy = new VariableInfo();
+        copy.name = name;
+        copy.alias = alias;
+        copy.keyOffset = keyOffset;
+        copy.valOffset = valOffset;
+        copy.valSize = valSize;
+        copy.valueString = valueString;
+        copy.valueNumber = valueNumber;
+        copy.numberType = numberType;
+        copy.valueByteArray = valueByteArray != null ? valueByteArray.clone() : null;
+        copy.variableType = variableType;
+        copy.blockOffset = blockOffset;
+        return copy;
+    }
+
+    /**
+     * Creates a variable with the fields stored in a {@link VariableTable}.
+     */
+    static VariableInfo of(String name, String alias, int keyOffset, int valOffset, int valSize, String valueString,
+                           int valueNumber, VariableType numberType, byte[] valueByteArray, VariableType variableType,
+                           int blockOffset) {
+        VariableInfo v = new VariableInfo();
+        v.name = name;
+        v.alias = alias;
+        v.keyOffset = keyOffset;
+        v.valOffset = valOffset;
+        v.valSize = valSize;
+        v.valueString = valueString;
+        v.valueNumber = valueNumber;
+        v.numberType = numberType;
+        v.valueByteArray = valueByteArray;
+        v.variableType = variableType;
+        v.blockOffset = blockOffset;
+        return v;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         VariableInfo that = (VariableInfo) o;
-        return valSize == that.valSize && blockOffset == that.blockOffset && name.equals(that.name) && Objects.equals(alias, that.alias) && Objects.equals(valueString, that.valueString) && Objects.equals(valueInteger, that.valueInteger) && Objects.equals(valueFloat, that.valueFloat) && Arrays.equals(valueByteArray, that.valueByteArray) && variableType == that.variableType;
+        return valSize == that.valSize && blockOffset == that.blockOffset && name.equals(that.name) && Objects.equals(alias, that.alias) && Objects.equals(valueString, that.valueString) && numberBits() == that.numberBits() && numberType == that.numberType && Arrays.equals(valueByteArray, that.valueByteArray) && variableType == that.variableType;
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(name, alias, valSize, valueString, valueInteger, valueFloat, variableType, blockOffset);
+        int result = Objects.hash(name, alias, valSize, valueString, numberBits(), numberType, variableType, blockOffset);
         result = 31 * result + Arrays.hashCode(valueByteArray);
         return result;
     }
 
+    //floats are compared like Float.equals, so all the NaN values are equal
+    private int numberBits() {
+        return numberType == VariableType.FLOAT ? Float.floatToIntBits(Float.intBitsToFloat(valueNumber)) : valueNumber;
+    }
+
+    private Integer valueInteger() {
+        return numberType == VariableType.INTEGER ? valueNumber : null;
+    }
+
+    private Float valueFloat() {
+        return numberType == VariableType.FLOAT ? Float.intBitsToFloat(valueNumber) : null;
+    }
+
     public String getName() {
         return name;
     }
@@ -123,16 +177,37 @@ public class VariableInfo implements DeepCloneable, Serializable {
 
     public Object getValue() {
         if (variableType == VariableType.INTEGER)
-            return valueInteger;
+            return valueInteger();
         if (variableType == VariableType.STRING || variableType == VariableType.STRING_UTF_16_LE || variableType == VariableType.STRING_UTF_32_LE)
             return valueString;
         if (variableType == VariableType.FLOAT)
-            return valueFloat;
+            return valueFloat();
         if (variableType == VariableType.UID || variableType == VariableType.STREAM)
             return valueByteArray;
         return null;
     }
 
+    //fields as stored, used by VariableTable
+    String getRawAlias() {
+        return alias;
+    }
+
+    String getRawValueString() {
+        return valueString;
+    }
+
+    int getRawValueNumber() {
+        return valueNumber;
+    }
+
+    VariableType getRawNumberType() {
+        return numberType;
+    }
+
+    byte[] getRawValueByteArray() {
+        return valueByteArray;
+    }
+
     public void setValue(String value) {
         if (!isString()) {
             throw new IllegalArgumentException(INVALID_VALUE_TYPE_MSG);
@@ -145,7 +220,8 @@ public class VariableInfo implements DeepCloneable, Serializable {
         if (!isInt()) {
             throw new IllegalArgumentException(INVALID_VALUE_TYPE_MSG);
         }
-        this.valueInteger = value;
+        this.valueNumber = value;
+        this.numberType = VariableType.INTEGER;
         valSize = variableType.dataTypeSize();
     }
 
@@ -153,7 +229,8 @@ public class VariableInfo implements DeepCloneable, Serializable {
         if (!isFloat()) {
             throw new IllegalArgumentException(INVALID_VALUE_TYPE_MSG);
         }
-        this.valueFloat = value;
+        this.valueNumber = Float.floatToRawIntBits(value);
+        this.numberType = VariableType.FLOAT;
         valSize = variableType.dataTypeSize();
     }
 
@@ -170,11 +247,11 @@ public class VariableInfo implements DeepCloneable, Serializable {
      */
     public String getValueString() {
         if (variableType == VariableType.INTEGER)
-            return String.valueOf(valueInteger);
+            return String.valueOf(valueInteger());
         if (variableType == VariableType.STRING || variableType == VariableType.STRING_UTF_16_LE || variableType == VariableType.STRING_UTF_32_LE)
             return valueString;
         if (variableType == VariableType.FLOAT)
-            return String.valueOf(valueFloat);
+            return String.valueOf(valueFloat());
         if (variableType == VariableType.UID)
             return UID.convertUidByteToString(valueByteArray);
         if (variableType == VariableType.STREAM)
@@ -292,9 +369,9 @@ public class VariableInfo implements DeepCloneable, Serializable {
 
     public byte[] bytes() {
         if (variableType.equals(VariableType.INTEGER)) {
-            return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(valueInteger).array();
+            return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(valueInteger()).array();
         } else if (variableType.equals(VariableType.FLOAT)) {
-            return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putFloat(valueFloat).array();
+            return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putFloat(valueFloat()).array();
         } else if (variableType.equals(VariableType.STRING) || variableType.equals(VariableType.STRING_UTF_16_LE) || variableType.equals(VariableType.STRING_UTF_32_LE)) {
             byte[] str = encodeString();
             byte[] len = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(valueString.length()).array();
@@ -386,8 +463,13 @@ public class VariableInfo implements DeepCloneable, Serializable {
             v.valOffset = builderValOffset;
             v.valSize = builderValSize;
             v.valueString = builderValueString;
-            v.valueInteger = builderValueInteger;
-            v.valueFloat = builderValueFloat;
+            if (builderValueInteger != null) {
+                v.valueNumber = builderValueInteger;
+                v.numberType = VariableType.INTEGER;
+            } else if (builderValueFloat != null) {
+                v.valueNumber = Float.floatToRawIntBits(builderValueFloat);
+                v.numberType = VariableType.FLOAT;
+            }
             v.valueByteArray = builderValueByteArray;
             v.variableType = builderVariableType;
 
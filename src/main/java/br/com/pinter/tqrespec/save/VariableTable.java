@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Respec.
+
+    TQ Respec is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Respec is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package br.com.pinter.tqrespec.save;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.Multimap;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Variables of a block stored by column, one array for each field of {@link VariableInfo}, so a parsed character
+ * doesn't keep one object (and its boxed values) per variable. A {@link VariableInfo} is created each time a variable
+ * is read.
+ * <p>
+ * Names and aliases are stored as ids of a table shared by all the files parsed; the keys are defined by the game, so
+ * this table stays small. The table is not changed after it's created.
+ */
+final class VariableTable {
+    static final VariableTable EMPTY = new VariableTable(0);
+    private static final VariableType[] TYPES = VariableType.values();
+    private static final int NO_ID = -1;
+    private static final Map<String, Integer> nameIds = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[256];
+    private static int namesCount = 0;
+
+    private final int[] nameId;
+    private final int[] aliasId;
+    private final int[] keyOffset;
+    private final int[] valOffset;
+    private final int[] valSize;
+    private final int[] blockOffset;
+    private final int[] valueNumber;
+    //type ordinal + 1, 0 when null
+    private final byte[] numberType;
+    private final byte[] variableType;
+    private final String[] valueString;
+    private final byte[][] valueByteArray;
+
+    private VariableTable(int size) {
+        nameId = new int[size];
+        aliasId = new int[size];
+        keyOffset = new int[size];
+        valOffset = new int[size];
+        valSize = new int[size];
+        blockOffset = new int[size];
+        valueNumber = new int[size];
+        numberType = new byte[size];
+        variableType = new byte[size];
+        valueString = new String[size];
+        valueByteArray = new byte[size][];
+    }
+
+    /**
+     * Creates a table with the variables, in the iteration order of the multimap.
+     *
+     * @param variables variables of the block, by name
+     * @return the table
+     */
+    static VariableTable of(Multimap<String, VariableInfo> variables) {
+        if (variables.isEmpty()) {
+            return EMPTY;
+        }
+        VariableTable table = new VariableTable(variables.size());
+        int i = 0;
+        for (VariableInfo v : variables.values()) {
+            table.nameId[i] = nameId(v.getName());
+            table.aliasId[i] = v.getRawAlias() == null ? NO_ID : nameId(v.getRawAlias());
+            table.keyOffset[i] = v.getKeyOffset();
+            table.valOffset[i] = v.getValOffset();
+            table.valSize[i] = v.getValSize();
+            table.blockOffset[i] = v.getBlockOffset();
+            table.valueNumber[i] = v.getRawValueNumber();
+            table.numberType[i] = typeCode(v.getRawNumberType());
+            table.variableType[i] = typeCode(v.getVariableType());
+            table.valueString[i] = v.getRawValueString();
+            table.valueByteArray[i] = v.getRawValueByteArray();
+            i++;
+        }
+        return table;
+    }
+
+    private static int nameId(String name) {
+        Integer id = nameIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (nameIds) {
+            id = nameIds.get(name);
+            if (id == null) {
+                if (namesCount == names.length) {
+                    names = Arrays.copyOf(names, namesCount * 2);
+                }
+                id = namesCount++;
+                //the name is stored before the id is published
+                names[id] = name;
+                nameIds.put(name, id);
+            }
+            return id;
+        }
+    }
+
+    private static String name(int id) {
+        return id == NO_ID ? null : names[id];
+    }
+
+    private static byte typeCode(VariableType type) {
+        return type == null ? 0 : (byte) (type.ordinal() + 1);
+    }
+
+    private static VariableType type(byte code) {
+        return code == 0 ? null : TYPES[code - 1];
+    }
+
+    int size() {
+        return nameId.length;
+    }
+
+    boolean isEmpty() {
+        return nameId.length == 0;
+    }
+
+    /**
+     * Creates the variable stored at the index.
+     */
+    VariableInfo get(int index) {
+        return VariableInfo.of(name(nameId[index]), name(aliasId[index]), keyOffset[index], valOffset[index],
+                valSize[index], valueString[index], valueNumber[index], type(numberType[index]), valueByteArray[index],
+                type(variableType[index]), blockOffset[index]);
+    }
+
+    /**
+     * Creates the variables with the name, in the order they are stored.
+     */
+    ImmutableList<VariableInfo> get(String name) {
+        Integer id = nameIds.get(name);
+        if (id == null) {
+            return ImmutableList.of();
+        }
+        ImmutableList.Builder<VariableInfo> ret = ImmutableList.builder();
+        for (int i = 0; i < nameId.length; i++) {
+            if (nameId[i] == id) {
+                ret.add(get(i));
+            }
+        }
+        return ret.build();
+    }
+
+    boolean contains(String name) {
+        Integer id = nameIds.get(name);
+        if (id == null) {
+            return false;
+        }
+        for (int n : nameId) {
+            if (n == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates the variables with the alias, a variable without alias is found by the name (see
+     * {@link VariableInfo#getAlias()}).
+     */
+    ImmutableList<VariableInfo> getByAlias(String alias) {
+        ImmutableList.Builder<VariableInfo> ret = ImmutableList.builder();
+        for (int i = 0; i < nameId.length; i++) {
+            String a = name(aliasId[i]);
+            if (StringUtils.isBlank(a)) {
+                a = name(nameId[i]);
+            }
+            if (a.equals(alias)) {
+                ret.add(get(i));
+            }
+        }
+        return ret.build();
+    }
+
+    /**
+     * Creates all the variables, by name.
+     */
+    ImmutableListMultimap<String, VariableInfo> toMultimap() {
+        ImmutableListMultimap.Builder<String, VariableInfo> ret = ImmutableListMultimap.builder();
+        for (int i = 0; i < nameId.length; i++) {
+            ret.put(name(nameId[i]), get(i));
+        }
+        return ret.build();
+    }
+
+    /**
+     * Creates all the variables, in the order they are stored.
+     */
+    ImmutableList<VariableInfo> values() {
+        ImmutableList.Builder<VariableInfo> ret = ImmutableList.builderWithExpectedSize(nameId.length);
+        for (int i = 0; i < nameId.length; i++) {
+            ret.add(get(i));
+        }
+        return ret.build();
+    }
+
+    @Override
+    public String toString() {
+        return toMultimap().toString();
+    }
+}
@@ -64,7 +64,7 @@ public class Exporter {
         Node root;
         if (fileDataMap.getBlockInfo().containsKey(0)) {
             root = new Node(fileDataMap.getBlockInfo().get(0));
-            for (VariableInfo v : fileDataMap.getBlockInfo().get(0).getVariables().values()) {
+            for (VariableInfo v : fileDataMap.getBlockInfo().get(0).getVariableList()) {
                 root.getChildren().add(new Node(v));
             }
         } else {
@@ -85,7 +85,7 @@ public class Exporter {
 
     private List<Node> childNodes(BlockInfo b) {
         List<Node> ret = new ArrayList<>();
-        for (VariableInfo v : b.getVariables().values()) {
+        for (VariableInfo v : b.getVariableList()) {
             ret.add(new Node(v));
         }
 
@@ -0,0 +1,316 @@
+/*
+ * Copyright (C) 2025 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Respec.
+
+    TQ Respec is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Respec is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package br.com.pinter.tqrespec.save.player;
+
+import br.com.pinter.tqrespec.util.Constants;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes the backup of a character directory as a zip file. The directory is walked once, the files are read and
+ * compressed in parallel, and written in order as soon as they are ready. Files that don't get smaller when compressed
+ * (e.g. already compressed data) are stored.
+ */
+class BackupZipWriter {
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final short VERSION = 20;
+    private static final short FLAG_UTF8 = 0x0800;
+    private static final short STORED = 0;
+    private static final short DEFLATED = 8;
+    private static final short EXTENDED_TIMESTAMP = 0x5455;
+    private static final int DIRECTORY_ATTRIBUTE = 0x10;
+
+    private final Path playerChr;
+    private final Path playerDir;
+    private final boolean fullBackup;
+    private final int compressionLevel;
+    private final int threads;
+
+    /**
+     * @param playerChr        the character file, the directory containing it is added to the zip
+     * @param fullBackup       all files are added, otherwise only the character and levels files
+     * @param compressionLevel 0-9, or {@link Deflater#DEFAULT_COMPRESSION}. Files are only stored when 0
+     * @param threads          number of files compressed in parallel
+     */
+    BackupZipWriter(Path playerChr, boolean fullBackup, int compressionLevel, int threads) {
+        if (compressionLevel != Deflater.DEFAULT_COMPRESSION && (compressionLevel < 0 || compressionLevel > 9)) {
+            throw new IllegalArgumentException("invalid compression level " + compressionLevel);
+        }
+        this.playerChr = Objects.requireNonNull(playerChr);
+        this.playerDir = playerChr.getParent();
+        this.fullBackup = fullBackup;
+        this.compressionLevel = compressionLevel;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Writes the zip. The output is written to a temporary file first, an incomplete backup is never left with the
+     * final name.
+     *
+     * @param zipFile the zip to create, replaced if it exists
+     */
+    void write(Path zipFile) throws IOException {
+        List<Source> sources = listSources();
+        Path tmp = zipFile.resolveSibling(zipFile.getFileName() + ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+                writeEntries(sources, new ZipOutput(out));
+            }
+            Files.move(tmp, zipFile, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Walks the character directory, in the order entries are added to the zip. Directories ignored
+     * ({@link Constants.Writer#BACKUP_IGNORE}) are skipped with all their content.
+     */
+    List<Source> listSources() throws IOException {
+        PathMatcher levelsMatcher = FileSystems.getDefault().getPathMatcher(Constants.Writer.BACKUP_PATHMATCHER);
+        String root = playerDir.getFileName().toString();
+        List<Source> sources = new ArrayList<>();
+
+        Files.walkFileTree(playerDir, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                Path relative = playerDir.relativize(dir);
+                if (!dir.equals(playerDir) && isIgnored(fullBackup ? relative : dir.getFileName())) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                sources.add(new Source(dir, entryName(root, relative) + "/", true, attrs));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && (fullBackup || levelsMatcher.matches(file) || isCharacterFile(file))) {
+                    sources.add(new Source(file, entryName(root, playerDir.relativize(file)), false, attrs));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return sources;
+    }
+
+    private boolean isCharacterFile(Path file) {
+        if (!playerDir.equals(file.getParent())) {
+            return false;
+        }
+        String name = file.getFileName().toString();
+        return file.equals(playerChr) || name.equals(Constants.STASH_FILE) || name.equals(Constants.STASH_FILE_BACKUP);
+    }
+
+    private static boolean isIgnored(Path path) {
+        for (String toIgnore : Constants.Writer.BACKUP_IGNORE) {
+            if (path.toString().matches(toIgnore)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String entryName(String root, Path relative) {
+        StringBuilder name = new StringBuilder(root);
+        for (Path p : relative) {
+            if (!p.toString().isEmpty()) {
+                name.append('/').append(p);
+            }
+        }
+        return name.toString();
+    }
+
+    /**
+     * Keeps up to two files per thread in flight, the memory used doesn't depend on the number of files.
+     */
+    private void writeEntries(List<Source> sources, ZipOutput zip) throws IOException {
+        int window = threads * 2;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            Deque<Future<Entry>> pending = new ArrayDeque<>(window);
+            int next = 0;
+            try {
+                while (next < sources.size() || !pending.isEmpty()) {
+                    while (next < sources.size() && pending.size() < window) {
+                        Source source = sources.get(next++);
+                        pending.add(executor.submit(() -> compress(source)));
+                    }
+                    zip.add(pending.removeFirst().get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Backup interrupted", e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+            } finally {
+                pending.forEach(f -> f.cancel(true));
+            }
+        }
+        zip.finish();
+    }
+
+    private Entry compress(Source source) throws IOException {
+        if (source.directory()) {
+            return new Entry(source, STORED, 0, 0, new byte[0]);
+        }
+
+        byte[] data = Files.readAllBytes(source.path());
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        if (compressionLevel == 0 || data.length == 0) {
+            return new Entry(source, STORED, crc.getValue(), data.length, data);
+        }
+
+        Deflater deflater = new Deflater(compressionLevel, true);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished() && compressed.size() < data.length) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+            if (deflater.finished() && compressed.size() < data.length) {
+                return new Entry(source, DEFLATED, crc.getValue(), data.length, compressed.toByteArray());
+            }
+        } finally {
+            deflater.end();
+        }
+        return new Entry(source, STORED, crc.getValue(), data.length, data);
+    }
+
+    record Source(Path path, String name, boolean directory, BasicFileAttributes attributes) {
+    }
+
+    private record Entry(Source source, short method, long crc, long size, byte[] data) {
+    }
+
+    /**
+     * Minimal zip format writer, entries are added with the data already compressed.
+     */
+    private static class ZipOutput {
+        private final OutputStream out;
+        private final ByteArrayOutputStream centralDirectory = new ByteArrayOutputStream();
+        private long position;
+        private int count;
+
+        ZipOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        void add(Entry entry) throws IOException {
+            if (count == 0xFFFF || position + entry.data().length > 0xFFFFFFFFL) {
+                throw new IOException("Backup too large");
+            }
+            byte[] name = entry.source().name().getBytes(StandardCharsets.UTF_8);
+            BasicFileAttributes attrs = entry.source().attributes();
+            byte[] localTimes = extendedTimestamp(attrs, true);
+            byte[] centralTimes = extendedTimestamp(attrs, false);
+            int dosTime = dosTime(attrs.lastModifiedTime());
+
+            ByteBuffer local = ByteBuffer.allocate(30 + name.length + localTimes.length).order(ByteOrder.LITTLE_ENDIAN);
+            local.putInt(LOCAL_HEADER).putShort(VERSION).putShort(FLAG_UTF8).putShort(entry.method()).putInt(dosTime)
+                    .putInt((int) entry.crc()).putInt(entry.data().length).putInt((int) entry.size())
+                    .putShort((short) name.length).putShort((short) localTimes.length).put(name).put(localTimes);
+
+            ByteBuffer central = ByteBuffer.allocate(46 + name.length + centralTimes.length).order(ByteOrder.LITTLE_ENDIAN);
+            central.putInt(CENTRAL_HEADER).putShort(VERSION).putShort(VERSION).putShort(FLAG_UTF8).putShort(entry.method())
+                    .putInt(dosTime).putInt((int) entry.crc()).putInt(entry.data().length).putInt((int) entry.size())
+                    .putShort((short) name.length).putShort((short) centralTimes.length).putShort((short) 0)
+                    .putShort((short) 0).putShort((short) 0)
+                    .putInt(entry.source().directory() ? DIRECTORY_ATTRIBUTE : 0).putInt((int) position)
+                    .put(name).put(centralTimes);
+
+            out.write(local.array());
+            out.write(entry.data());
+            centralDirectory.write(central.array());
+            position += local.capacity() + entry.data().length;
+            count++;
+        }
+
+        void finish() throws IOException {
+            if (position > 0xFFFFFFFFL - centralDirectory.size()) {
+                throw new IOException("Backup too large");
+            }
+            centralDirectory.writeTo(out);
+            ByteBuffer end = ByteBuffer.allocate(22).order(ByteOrder.LITTLE_ENDIAN);
+            end.putInt(END_OF_CENTRAL_DIRECTORY).putShort((short) 0).putShort((short) 0)
+                    .putShort((short) count).putShort((short) count)
+                    .putInt(centralDirectory.size()).putInt((int) position).putShort((short) 0);
+            out.write(end.array());
+        }
+
+        /**
+         * Modification, access and creation times, as seconds since epoch. The central directory has only the
+         * modification time, the flags tell the times present in the local header.
+         */
+        private static byte[] extendedTimestamp(BasicFileAttributes attrs, boolean local) {
+            FileTime[] times = local
+                    ? new FileTime[]{attrs.lastModifiedTime(), attrs.lastAccessTime(), attrs.creationTime()}
+                    : new FileTime[]{attrs.lastModifiedTime()};
+            ByteBuffer extra = ByteBuffer.allocate(5 + times.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+            extra.putShort(EXTENDED_TIMESTAMP).putShort((short) (1 + times.length * 4)).put((byte) 0b111);
+            for (FileTime t : times) {
+                extra.putInt((int) t.to(TimeUnit.SECONDS));
+            }
+            return extra.array();
+        }
+
+        private static int dosTime(FileTime time) {
+            LocalDateTime d = LocalDateTime.ofInstant(time.toInstant(), ZoneId.systemDefault());
+            if (d.getYear() < 1980) {
+                return (1 << 21) | (1 << 16);
+            }
+            return (d.getYear() - 1980) << 25 | d.getMonthValue() << 21 | d.getDayOfMonth() << 16
+                    | d.getHour() << 11 | d.getMinute() << 5 | d.getSecond() >> 1;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Respec.
+
+    TQ Respec is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Respec is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package br.com.pinter.tqrespec.save.player;
+
+import br.com.pinter.tqrespec.Settings;
+import br.com.pinter.tqrespec.logging.Log;
+import br.com.pinter.tqrespec.tqdata.GameInfo;
+import br.com.pinter.tqrespec.tqdata.PlayerCharacter;
+import br.com.pinter.tqrespec.tqdata.PlayerCharacterFile;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static java.lang.System.Logger.Level.DEBUG;
+
+/**
+ * Loads the summary of many characters concurrently, each one with its own {@link PlayerLoader}.
+ * <p>
+ * The number of characters loaded at the same time is limited by {@link Settings#getCharactersLoadThreads()}. Only
+ * the savegames changed since the last load are parsed, the other summaries come from {@link CharacterSummaryCache}.
+ */
+public class CharacterLoader {
+    private static final System.Logger logger = Log.getLogger(CharacterLoader.class);
+
+    @Inject
+    private Provider<PlayerLoader> playerLoaderProvider;
+
+    @Inject
+    private CharacterSummaryCache summaryCache;
+
+    @Inject
+    private GameInfo gameInfo;
+
+    /**
+     * Loads the characters, passing each summary to the consumer as soon as it is loaded. The consumer is called from
+     * the worker threads, in no particular order.
+     *
+     * @param characterFiles characters to load
+     * @param onLoaded       receives the summary of each character loaded
+     * @return the errors found, by character, in the same order of the list
+     * @throws InterruptedException if interrupted while waiting, the characters not loaded yet are cancelled, and the
+     *                              summaries already loaded are saved to the cache
+     */
+    public Map<PlayerCharacterFile, Exception> load(List<PlayerCharacterFile> characterFiles,
+                                                    Consumer<PlayerCharacter> onLoaded) throws InterruptedException {
+        int threads = Math.min(Settings.getCharactersLoadThreads(), Math.max(1, characterFiles.size()));
+        logger.log(DEBUG, "Loading {0} characters using {1} threads", characterFiles.size(), threads);
+
+        Map<PlayerCharacterFile, Exception> errors = new LinkedHashMap<>();
+        List<Future<?>> futures = new ArrayList<>(characterFiles.size());
+        List<Path> playerChrs = new ArrayList<>(characterFiles.size());
+
+        summaryCache.load();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (PlayerCharacterFile characterFile : characterFiles) {
+                Path playerChr = gameInfo.playerChr(characterFile.getPlayerName(), characterFile.getLocation());
+                playerChrs.add(playerChr);
+                futures.add(executor.submit(() -> {
+                    //read before parsing, a savegame changed while parsed must not be cached as the new one
+                    BasicFileAttributes attrs = Files.readAttributes(playerChr, BasicFileAttributes.class);
+                    PlayerCharacter playerCharacter = summaryCache.get(playerChr, attrs);
+                    if (playerCharacter == null) {
+                        PlayerLoader playerLoader = playerLoaderProvider.get();
+                        playerCharacter = playerLoader.getCharacterSummary(characterFile.getPlayerName(), characterFile.getLocation());
+                        if (playerCharacter != null) {
+                            summaryCache.put(playerChr, attrs, playerCharacter, playerLoader.getSaveData().getHeaderInfo());
+                        }
+                    }
+                    if (playerCharacter != null) {
+                        onLoaded.accept(playerCharacter);
+                    }
+                    return null;
+                }));
+            }
+
+            try {
+                for (int i = 0; i < futures.size(); i++) {
+                    try {
+                        futures.get(i).get();
+                    } catch (ExecutionException e) {
+                        Exception cause = e.getCause() instanceof Exception c ? c : e;
+                        errors.put(characterFiles.get(i), cause);
+                    }
+                }
+            } catch (InterruptedException e) {
+                //the characters not started are cancelled, close() waits the ones being loaded
+                executor.shutdownNow();
+                throw e;
+            }
+        } finally {
+            summaryCache.retain(playerChrs);
+            summaryCache.save();
+        }
+
+        return Collections.unmodifiableMap(errors);
+    }
+}
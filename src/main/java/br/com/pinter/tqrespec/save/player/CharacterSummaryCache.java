@@ -0,0 +1,263 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Respec.
+
+    TQ Respec is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Respec is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package br.com.pinter.tqrespec.save.player;
+
+import br.com.pinter.tqdatabase.models.Skill;
+import br.com.pinter.tqdatabase.models.Teleport;
+import br.com.pinter.tqrespec.Settings;
+import br.com.pinter.tqrespec.logging.Log;
+import br.com.pinter.tqrespec.tqdata.Db;
+import br.com.pinter.tqrespec.tqdata.DefaultMapTeleport;
+import br.com.pinter.tqrespec.tqdata.MapTeleport;
+import br.com.pinter.tqrespec.tqdata.Mastery;
+import br.com.pinter.tqrespec.tqdata.PlayerCharacter;
+import br.com.pinter.tqrespec.tqdata.Txt;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.WARNING;
+
+/**
+ * Keeps the summary of the characters stored on disk, so the characters list only needs to parse the savegames
+ * changed since the last time it was shown.
+ * <p>
+ * An entry is valid while the path, size and modification time of Player.chr are the same. The whole cache is
+ * discarded when {@link #CACHE_VERSION} changes. The header and player versions of the savegame are stored with the
+ * entry, and entries with versions not supported by the parser are discarded when the cache is loaded.
+ */
+@Singleton
+public class CharacterSummaryCache {
+    private static final System.Logger logger = Log.getLogger(CharacterSummaryCache.class);
+    static final int CACHE_VERSION = 1;
+    private static final String CACHE_FILE = "characters.json";
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .addMixIn(PlayerCharacter.class, PlayerCharacterMixIn.class)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private Path cacheFile = Settings.getCacheDirectory().resolve(CACHE_FILE);
+    private boolean loaded = false;
+
+    @Inject
+    private Db db;
+
+    @Inject
+    private Txt txt;
+
+    @JsonIgnoreProperties({"path", "masteries", "defaultMapTeleports", "lastMapTeleport", "characterClass"})
+    private abstract static class PlayerCharacterMixIn {
+    }
+
+    record CachedMastery(String recordPath, int level) {
+    }
+
+    record Entry(String path, long size, long lastModified, int headerVersion, int playerVersion, String classTag,
+                 PlayerCharacter character, List<CachedMastery> masteries, Map<Integer, List<String>> teleports) {
+    }
+
+    record CacheFile(int version, Collection<Entry> entries) {
+    }
+
+    void setCacheFile(Path cacheFile) {
+        this.cacheFile = cacheFile;
+        this.loaded = false;
+    }
+
+    /**
+     * Reads the cache from disk, only the first time it's called. A cache that can't be read is ignored.
+     */
+    public synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        entries.clear();
+        if (!Files.isRegularFile(cacheFile)) {
+            return;
+        }
+
+        try {
+            CacheFile file = mapper.readValue(cacheFile.toFile(), CacheFile.class);
+            if (file.version() != CACHE_VERSION || file.entries() == null) {
+                logger.log(DEBUG, "Discarding characters cache ''{0}'', version {1}", cacheFile, file.version());
+                return;
+            }
+            int discarded = 0;
+            for (Entry e : file.entries()) {
+                if (PlayerParser.isSupported(e.headerVersion(), e.playerVersion())) {
+                    entries.put(e.path(), e);
+                } else {
+                    discarded++;
+                }
+            }
+            logger.log(DEBUG, "{0} characters read from cache ''{1}'', {2} discarded", entries.size(), cacheFile, discarded);
+        } catch (IOException | RuntimeException e) {
+            logger.log(WARNING, String.format("Error reading characters cache '%s'", cacheFile), e);
+        }
+    }
+
+    /**
+     * Writes the cache to disk. Entries of savegames not found anymore are removed first.
+     */
+    public synchronized void save() {
+        entries.keySet().removeIf(p -> !Files.isRegularFile(Path.of(p)));
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path tmp = cacheFile.resolveSibling(CACHE_FILE + ".tmp");
+            mapper.writeValue(tmp.toFile(), new CacheFile(CACHE_VERSION, entries.values()));
+            try {
+                Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.log(WARNING, String.format("Error writing characters cache '%s'", cacheFile), e);
+        }
+    }
+
+    /**
+     * Removes the entries of all savegames not in the list.
+     *
+     * @param playerChrs the savegames to keep
+     */
+    public void retain(Collection<Path> playerChrs) {
+        Set<String> keep = playerChrs.stream().filter(Objects::nonNull).map(CharacterSummaryCache::key).collect(Collectors.toSet());
+        entries.keySet().retainAll(keep);
+    }
+
+    /**
+     * Returns the cached summary of the character.
+     *
+     * @param playerChr the character Player.chr
+     * @param attrs     attributes of Player.chr, read before the savegame is parsed on a miss
+     * @return a new summary, or null if the savegame changed since it was cached
+     */
+    public PlayerCharacter get(Path playerChr, BasicFileAttributes attrs) {
+        if (playerChr == null) {
+            return null;
+        }
+        Entry entry = entries.get(key(playerChr));
+        if (entry == null) {
+            return null;
+        }
+        if (attrs == null || entry.size() != attrs.size() || entry.lastModified() != attrs.lastModifiedTime().toMillis()) {
+            entries.remove(entry.path());
+            return null;
+        }
+
+        try {
+            return restore(entry, playerChr);
+        } catch (RuntimeException e) {
+            logger.log(WARNING, String.format("Error reading cached character '%s'", playerChr), e);
+            entries.remove(entry.path());
+            return null;
+        }
+    }
+
+    /**
+     * Stores the summary of a character just parsed. The attributes must be read before the savegame is parsed, so a
+     * savegame written by the game while it was parsed is not cached with the new size and modification time.
+     *
+     * @param playerChr       the character Player.chr
+     * @param attrs           attributes of Player.chr read before parsing
+     * @param playerCharacter the summary
+     * @param headerInfo      header of the savegame the summary was read from
+     */
+    public void put(Path playerChr, BasicFileAttributes attrs, PlayerCharacter playerCharacter, HeaderInfo headerInfo) {
+        if (playerChr == null || attrs == null) {
+            return;
+        }
+        try {
+            List<CachedMastery> masteries = new ArrayList<>();
+            if (playerCharacter.getMasteries() != null) {
+                playerCharacter.getMasteries().forEach(m -> masteries.add(new CachedMastery(m.getSkill().getRecordPath(), m.getLevel())));
+            }
+            Map<Integer, List<String>> teleports = playerCharacter.getDefaultMapTeleports().entrySet().stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().stream().map(MapTeleport::getRecordId).toList()));
+
+            Entry entry = new Entry(key(playerChr), attrs.size(), attrs.lastModifiedTime().toMillis(),
+                    headerInfo.getHeaderVersion().value(), headerInfo.getPlayerVersion(), headerInfo.getPlayerClassTag(),
+                    playerCharacter, masteries, teleports);
+            entries.put(entry.path(), entry);
+        } catch (RuntimeException e) {
+            logger.log(WARNING, String.format("Error caching character '%s'", playerChr), e);
+        }
+    }
+
+    private PlayerCharacter restore(Entry entry, Path playerChr) {
+        PlayerCharacter playerCharacter = mapper.convertValue(entry.character(), PlayerCharacter.class);
+        playerCharacter.setPath(playerChr.getParent());
+        playerCharacter.setCharacterClass(StringUtils.isNotEmpty(entry.classTag()) ? txt.getString(entry.classTag()) : entry.classTag());
+
+        List<Mastery> masteries = new ArrayList<>();
+        for (CachedMastery m : entry.masteries()) {
+            Skill skill = db.skills().getSkill(m.recordPath(), false);
+            if (skill == null) {
+                throw new NoSuchElementException("Skill not found: " + m.recordPath());
+            }
+            Mastery mastery = new Mastery();
+            mastery.setSkill(skill);
+            mastery.setLevel(m.level());
+            mastery.setDisplayName(skill.getSkillDisplayName());
+            masteries.add(mastery);
+        }
+        playerCharacter.setMasteries(masteries);
+
+        entry.teleports().forEach((difficulty, recordIds) -> {
+            List<MapTeleport> list = new ArrayList<>();
+            for (String recordId : recordIds) {
+                MapTeleport mapTeleport = DefaultMapTeleport.get(recordId);
+                Teleport teleport = db.teleports().getTeleport(recordId);
+                if (teleport != null) {
+                    mapTeleport.setName(teleport.getDescription());
+                }
+                list.add(mapTeleport);
+            }
+            playerCharacter.getDefaultMapTeleports().put(difficulty, list);
+        });
+        return playerCharacter;
+    }
+
+    private static String key(Path playerChr) {
+        return playerChr.toAbsolutePath().normalize().toString();
+    }
+}
@@ -20,6 +20,10 @@
 
 package br.com.pinter.tqrespec.save.player;
 
+import br.com.pinter.tqrespec.save.BlockInfo;
+import br.com.pinter.tqrespec.save.Platform;
+import br.com.pinter.tqrespec.save.VariableInfo;
+import br.com.pinter.tqrespec.save.VariableType;
 import br.com.pinter.tqrespec.tqdata.GameVersion;
 
 import java.io.Serializable;
@@ -32,6 +36,45 @@ public class HeaderInfo implements Serializable {
     private int playerLevel = -1;
     private int playerVersion = -1;
 
+    /**
+     * Reads the header info from the variables of a header block already parsed, like the block updated after the
+     * changes are saved.
+     *
+     * @param header   the header block
+     * @param platform the platform of the savegame
+     * @throws EnumConstantNotPresentException if the header version is unknown
+     */
+    static HeaderInfo fromBlock(BlockInfo header, Platform platform) {
+        HeaderInfo h = new HeaderInfo();
+        for (VariableInfo v : header.getVariableList()) {
+            if (v.getVariableType() == VariableType.INTEGER || v.getVariableType() == VariableType.STRING) {
+                h.setVariable(platform, v.getName(), v.getValue());
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Sets the field read from a header variable, other variables are ignored.
+     *
+     * @throws EnumConstantNotPresentException if the header version is unknown
+     */
+    void setVariable(Platform platform, String name, Object value) {
+        if (value instanceof Integer valueInt) {
+            if (name.equals(PlayerFileVariable.valueOf(platform, "headerVersion").variable()))
+                headerVersion = GameVersion.fromValue(valueInt);
+            if (name.equals(PlayerFileVariable.valueOf(platform, "playerVersion").variable()))
+                playerVersion = valueInt;
+            if (name.equals(PlayerFileVariable.valueOf(platform, "playerLevel").variable()))
+                playerLevel = valueInt;
+        } else if (value instanceof String valueString) {
+            if (name.equals(PlayerFileVariable.valueOf(platform, "playerCharacterClass").variable()))
+                playerCharacterClass = valueString;
+            if (name.equals(PlayerFileVariable.valueOf(platform, "playerClassTag").variable()))
+                playerClassTag = valueString;
+        }
+    }
+
     GameVersion getHeaderVersion() {
         return headerVersion;
     }
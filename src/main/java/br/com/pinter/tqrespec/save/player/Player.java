@@ -43,16 +43,19 @@ import br.com.pinter.tqrespec.tqdata.Txt;
 import br.com.pinter.tqrespec.util.Constants;
 import com.google.inject.Inject;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.SystemUtils;
 
 import java.io.File;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -81,7 +84,7 @@ public class Player {
     }
 
     public FileDataMap getDataMap() {
-        return saveData.getDataMap();
+        return getSaveData().getDataMap();
     }
 
     protected void prepareSaveData() {
@@ -89,6 +92,20 @@ public class Player {
     }
 
     public boolean loadPlayer(String playerName, SaveLocation saveLocation) {
+        return loadPlayer(playerName, saveLocation, false);
+    }
+
+    /**
+     * Loads the character.
+     *
+     * @param playerName   the character name
+     * @param saveLocation location of the savegame
+     * @param readOnly     the character will only be read (e.g. characters list). Blocks are parsed on demand and,
+     *                     except on Windows (a mapped file can't be moved or replaced), Player.chr is mapped instead of
+     *                     copied to the heap
+     * @return true if the character was loaded
+     */
+    public boolean loadPlayer(String playerName, SaveLocation saveLocation, boolean readOnly) {
         if (State.get().isSaveInProgress()) {
             return false;
         }
@@ -109,13 +126,13 @@ public class Player {
             PlayerParser playerParser = new PlayerParser(
                     new File(getSaveData().getPlayerChr().toString()),
                     playerName);
+            playerParser.setMemoryMapped(readOnly && !SystemUtils.IS_OS_WINDOWS);
+            playerParser.setLazy(readOnly);
+            playerParser.setParallel(!readOnly);
 
             getSaveData().setBuffer(playerParser.load());
-            getSaveData().setPlatform(playerParser.getDetectedPlatform());
-            getDataMap().setBlockInfo(playerParser.getBlockInfo());
-            getSaveData().setHeaderInfo(playerParser.getHeaderInfo());
-            getDataMap().setVariableLocation(playerParser.getVariableLocation());
-            saveData.getDataMap().validate();
+            setParsedData(playerParser);
+            getDataMap().validate();
             prepareSkillsList();
         } catch (RuntimeException e) {
             reset();
@@ -125,41 +142,75 @@ public class Player {
         return true;
     }
 
+    /**
+     * Loads a summary of the character, to be used when listing characters. Only the header and the blocks needed to
+     * fill the summary are parsed, and the savegame is not validated.
+     *
+     * @param playerName   the character name
+     * @param saveLocation location of the savegame
+     * @return the character summary, or null if a save is in progress
+     */
+    public PlayerCharacter getCharacterSummary(String playerName, SaveLocation saveLocation) {
+        if (State.get().isSaveInProgress()) {
+            return null;
+        }
+
+        try {
+            prepareSaveData();
+
+            getSaveData().setPlayerName(playerName);
+            getSaveData().setLocation(saveLocation);
+            getSaveData().setPlayerChr(gameInfo.playerChr(playerName, saveLocation));
+
+            logger.log(DEBUG, "Loading summary of character ''{0}''", getSaveData().getPlayerChr());
+
+            PlayerParser playerParser = new PlayerParser(
+                    new File(getSaveData().getPlayerChr().toString()),
+                    playerName);
+            playerParser.setMemoryMapped(!SystemUtils.IS_OS_WINDOWS);
+
+            PlayerCharacter playerCharacter = playerParser.parseSummary();
+            getSaveData().setBuffer(playerParser.getBuffer());
+            setParsedData(playerParser);
+
+            playerCharacter.setPath(getSaveData().getPlayerPath());
+            playerCharacter.setLocation(saveLocation);
+            playerCharacter.setCharacterClass(getPlayerClassName());
+            addDefaultMapTeleports(playerCharacter);
+            addSummaryMasteries(playerCharacter);
+            return playerCharacter;
+        } catch (RuntimeException e) {
+            reset();
+            logger.log(ERROR, "Error loading character", e);
+            throw new UnhandledRuntimeException("Error loading character", e);
+        }
+    }
+
+    private void setParsedData(PlayerParser playerParser) {
+        getSaveData().setPlatform(playerParser.getDetectedPlatform());
+        getDataMap().setBlockInfo(playerParser.getBlockInfo());
+        getSaveData().setHeaderInfo(playerParser.getHeaderInfo());
+        getDataMap().setVariableLocation(playerParser.getVariableLocation());
+    }
+
     public PlayerCharacter getCharacter() {
-        PlayerCharacter playerCharacter = new PlayerCharacter();
+        PlayerCharacter playerCharacter = PlayerCharacterMapper.map(getDataMap(), getSaveData().getHeaderInfo());
         playerCharacter.setPath(getSaveData().getPlayerPath());
         playerCharacter.setLocation(getSaveData().getLocation());
-        playerCharacter.setGender(getGender());
         playerCharacter.setCharacterClass(getPlayerClassName());
-        playerCharacter.setDifficulty(getDifficulty());
-        playerCharacter.setExperience(getXp());
-        playerCharacter.setGold(getMoney());
-        playerCharacter.setLevel(getLevel());
-        playerCharacter.setName(getCharacterName());
-        playerCharacter.setStatAvailableAttrPoints(getModifierPoints());
-        playerCharacter.setStatDex(getDex());
-        playerCharacter.setStatInt(getInt());
-        playerCharacter.setStatStr(getStr());
-        playerCharacter.setStatLife(getLife());
-        playerCharacter.setStatMana(getMana());
-        playerCharacter.setMasteries(new ArrayList<>());
-        playerCharacter.setStatAvailableSkillPoints(getAvailableSkillPoints());
-        playerCharacter.setPlayTimeInSeconds(getStatPlayTimeInSeconds());
-        playerCharacter.setGreatestMonsterKilledName(getStatGreatestMonsterKilledName());
-        playerCharacter.setNumberOfDeaths(getStatNumberOfDeaths());
-        playerCharacter.setNumberOfKills(getStatNumberOfKills());
-        playerCharacter.setExperienceFromKills(getStatExperienceFromKills());
-        playerCharacter.setHealthPotionsUsed(getStatHealthPotionsUsed());
-        playerCharacter.setManaPotionsUsed(getStatManaPotionsUsed());
-        playerCharacter.setNumHitsInflicted(getStatNumHitsInflicted());
-        playerCharacter.setNumHitsReceived(getStatNumHitsReceived());
-        playerCharacter.setGreatestDamageInflicted(getStatGreatestDamageInflicted());
-        playerCharacter.setGreatestMonsterKilledLevel(getStatGreatestMonsterKilledLevel());
-        playerCharacter.setCriticalHitsInflicted(getStatCriticalHitsInflicted());
+        addDefaultMapTeleports(playerCharacter);
+        addMasteries(playerCharacter);
+
+        return playerCharacter;
+    }
+
+    private void addDefaultMapTeleports(PlayerCharacter playerCharacter) {
         playerCharacter.getDefaultMapTeleports().put(0, getDefaultMapTeleports(0));
         playerCharacter.getDefaultMapTeleports().put(1, getDefaultMapTeleports(1));
         playerCharacter.getDefaultMapTeleports().put(2, getDefaultMapTeleports(2));
+    }
 
+    private void addMasteries(PlayerCharacter playerCharacter) {
         List<Skill> playerMasteries = getPlayerMasteries();
         Map<String, PlayerSkill> playerSkills = getPlayerSkills();
 
@@ -169,22 +220,43 @@ public class Player {
                 logger.log(ERROR, "Error, skill not found while loading character: " + skill.getRecordPath());
                 continue;
             }
-            int level = ps.getSkillLevel();
-            Mastery mastery = new Mastery();
-            mastery.setSkill(skill);
-            mastery.setLevel(level);
-            mastery.setDisplayName(skill.getSkillDisplayName());
-
             if (skill.isMastery()) {
-                playerCharacter.getMasteries().add(mastery);
+                playerCharacter.getMasteries().add(newMastery(skill, ps.getSkillLevel()));
             }
         }
+    }
 
-        return playerCharacter;
+    /**
+     * Adds the masteries of a character loaded by {@link Player#getCharacterSummary(String, SaveLocation)}. Only the
+     * name of each skill is read, the other variables are read from the blocks of masteries. The skills list of the
+     * character is not filled.
+     */
+    private void addSummaryMasteries(PlayerCharacter playerCharacter) {
+        Set<String> added = new HashSet<>();
+        for (BlockInfo b : getSkillBlocks()) {
+            String skillName = (String) b.getVariableByName(Constants.Save.SKILL_NAME).getFirst().getValue();
+            Skill skill = skillName != null ? db.skills().getSkill(skillName, false) : null;
+            if (skill == null || !skill.isMastery() || !added.add(skill.getRecordPath())) {
+                continue;
+            }
+            playerCharacter.getMasteries().add(newMastery(skill,
+                    getVariableValueInteger(b.getStart(), Constants.Save.SKILL_LEVEL)));
+        }
     }
 
-    private void prepareSkillsList() {
-        getSaveData().getPlayerSkills().clear();
+    private static Mastery newMastery(Skill skill, int level) {
+        Mastery mastery = new Mastery();
+        mastery.setSkill(skill);
+        mastery.setLevel(level);
+        mastery.setDisplayName(skill.getSkillDisplayName());
+        return mastery;
+    }
+
+    /**
+     * @return the blocks of the skills in the skills list, except the removed ones
+     */
+    private List<BlockInfo> getSkillBlocks() {
+        List<BlockInfo> ret = new ArrayList<>();
         for (String v : getDataMap().getVariableLocation().keySet()) {
             if (!v.startsWith(Database.Variables.PREFIX_SKILL_NAME)) {
                 continue;
@@ -193,30 +265,37 @@ public class Player {
             for (int blockOffset : getDataMap().getVariableLocation().get(v)) {
                 int parent = getDataMap().getBlockInfo().get(blockOffset).getParentOffset();
                 BlockInfo b = getDataMap().getBlockInfo().get(blockOffset);
-                if (parent < 0 || !getDataMap().getBlockInfo().get(parent).getVariables().containsKey("max")
+                if (parent < 0 || !getDataMap().getBlockInfo().get(parent).containsVariable("max")
                         || getDataMap().isRemoved(b.getStart())) {
                     //new block size is zero (was removed) or no parent
                     continue;
                 }
+                ret.add(b);
+            }
+        }
+        return ret;
+    }
 
-                PlayerSkill sb = new PlayerSkill();
-                sb.setSkillName((String) b.getVariables().get(Constants.Save.SKILL_NAME).getFirst().getValue());
-                sb.setSkillEnabled((Integer) b.getVariables().get(Constants.Save.SKILL_ENABLED).getFirst().getValue());
-                sb.setSkillActive((Integer) b.getVariables().get(Constants.Save.SKILL_ACTIVE).getFirst().getValue());
-                sb.setSkillSubLevel((Integer) b.getVariables().get(Constants.Save.SKILL_SUB_LEVEL).getFirst().getValue());
-                sb.setSkillTransition((Integer) b.getVariables().get(Constants.Save.SKILL_TRANSITION).getFirst().getValue());
-                sb.setSkillLevel(getVariableValueInteger(b.getStart(), Constants.Save.SKILL_LEVEL));
-                sb.setBlockStart(b.getStart());
-                if (sb.getSkillName() != null) {
-                    if (!db.recordExists(sb.getSkillName())) {
-                        logger.log(WARNING, "The character \"{0}\" have the skill \"{1}\", but this" +
-                                " skill was not found in the game database. Please check if the game installed is compatible" +
-                                " with your save game.", getPlayerSavegameName(), sb.getSkillName());
-                        getSaveData().setMissingSkills(true);
-                    }
-                    synchronized (getSaveData().getPlayerSkills()) {
-                        getSaveData().getPlayerSkills().put(Objects.requireNonNull(Database.normalizeRecordPath(sb.getSkillName())), sb);
-                    }
+    private void prepareSkillsList() {
+        getSaveData().getPlayerSkills().clear();
+        for (BlockInfo b : getSkillBlocks()) {
+            PlayerSkill sb = new PlayerSkill();
+            sb.setSkillName((String) b.getVariableByName(Constants.Save.SKILL_NAME).getFirst().getValue());
+            sb.setSkillEnabled((Integer) b.getVariableByName(Constants.Save.SKILL_ENABLED).getFirst().getValue());
+            sb.setSkillActive((Integer) b.getVariableByName(Constants.Save.SKILL_ACTIVE).getFirst().getValue());
+            sb.setSkillSubLevel((Integer) b.getVariableByName(Constants.Save.SKILL_SUB_LEVEL).getFirst().getValue());
+            sb.setSkillTransition((Integer) b.getVariableByName(Constants.Save.SKILL_TRANSITION).getFirst().getValue());
+            sb.setSkillLevel(getVariableValueInteger(b.getStart(), Constants.Save.SKILL_LEVEL));
+            sb.setBlockStart(b.getStart());
+            if (sb.getSkillName() != null) {
+                if (!db.recordExists(sb.getSkillName())) {
+                    logger.log(WARNING, "The character \"{0}\" have the skill \"{1}\", but this" +
+                            " skill was not found in the game database. Please check if the game installed is compatible" +
+                            " with your save game.", getPlayerSavegameName(), sb.getSkillName());
+                    getSaveData().setMissingSkills(true);
+                }
+                synchronized (getSaveData().getPlayerSkills()) {
+                    getSaveData().getPlayerSkills().put(Objects.requireNonNull(Database.normalizeRecordPath(sb.getSkillName())), sb);
                 }
             }
         }
@@ -281,7 +360,7 @@ public class Player {
             throw new IllegalStateException("Error loading mastery. Skill detected.");
         }
         BlockInfo sk = getDataMap().getBlockInfo().get(blockStart);
-        VariableInfo varSkillLevel = sk.getVariables().get(Constants.Save.SKILL_LEVEL).getFirst();
+        VariableInfo varSkillLevel = sk.getVariableByName(Constants.Save.SKILL_LEVEL).getFirst();
 
         if (varSkillLevel.getVariableType() == VariableType.INTEGER) {
             return getVariableValueInteger(blockStart, Constants.Save.SKILL_LEVEL);
@@ -308,7 +387,7 @@ public class Player {
         }
 
         BlockInfo skillToRemove = getDataMap().getBlockInfo().get(blockStart);
-        VariableInfo varSkillLevel = skillToRemove.getVariables().get(Constants.Save.SKILL_LEVEL).getFirst();
+        VariableInfo varSkillLevel = skillToRemove.getVariableByName(Constants.Save.SKILL_LEVEL).getFirst();
         if (varSkillLevel.getVariableType() == VariableType.INTEGER) {
             int currentSkillPoints = getVariableValueInteger(Constants.Save.SKILL_POINTS);
             int currentSkillLevel = (int) varSkillLevel.getValue();
@@ -433,6 +512,54 @@ public class Player {
         getDataMap().setInt("modifierPoints", val);
     }
 
+    /**
+     * Moves the points spent on strength, intelligence, dexterity, life and mana back to the available attribute points.
+     * Each attribute goes back to the base value of the character, minus any remainder not multiple of the increment.
+     *
+     * @return the number of attribute points reclaimed
+     */
+    public int reclaimAttributePoints() {
+        int strPoints = spentAttributePoints(getStr(), Math.round(db.player().getPc().getCharacterStrength()),
+                db.player().getPlayerLevels().getStrengthIncrement());
+        int intPoints = spentAttributePoints(getInt(), Math.round(db.player().getPc().getCharacterIntelligence()),
+                db.player().getPlayerLevels().getIntelligenceIncrement());
+        int dexPoints = spentAttributePoints(getDex(), Math.round(db.player().getPc().getCharacterDexterity()),
+                db.player().getPlayerLevels().getDexterityIncrement());
+        int lifePoints = spentAttributePoints(getLife(), Math.round(db.player().getPc().getCharacterLife()),
+                db.player().getPlayerLevels().getLifeIncrement());
+        int manaPoints = spentAttributePoints(getMana(), Math.round(db.player().getPc().getCharacterMana()),
+                db.player().getPlayerLevels().getManaIncrement());
+
+        int points = strPoints + intPoints + dexPoints + lifePoints + manaPoints;
+        if (points == 0) {
+            return 0;
+        }
+        if (strPoints > 0) {
+            setStr(getStr() - strPoints * db.player().getPlayerLevels().getStrengthIncrement());
+        }
+        if (intPoints > 0) {
+            setInt(getInt() - intPoints * db.player().getPlayerLevels().getIntelligenceIncrement());
+        }
+        if (dexPoints > 0) {
+            setDex(getDex() - dexPoints * db.player().getPlayerLevels().getDexterityIncrement());
+        }
+        if (lifePoints > 0) {
+            setLife(getLife() - lifePoints * db.player().getPlayerLevels().getLifeIncrement());
+        }
+        if (manaPoints > 0) {
+            setMana(getMana() - manaPoints * db.player().getPlayerLevels().getManaIncrement());
+        }
+        setModifierPoints(getModifierPoints() + points);
+        return points;
+    }
+
+    private int spentAttributePoints(int value, int min, int step) {
+        if (step <= 0 || value <= min) {
+            return 0;
+        }
+        return (value - min) / step;
+    }
+
     public void setXp(int val) {
         getDataMap().setInt("currentStats.experiencePoints", val);
     }
@@ -476,14 +603,14 @@ public class Player {
         }
 
         logger.log(INFO, "altMoney variable not found for character {0}, version {1}",
-                saveData.getPlayerName(), saveData.getHeaderInfo().getPlayerVersion());
+                getSaveData().getPlayerName(), getSaveData().getHeaderInfo().getPlayerVersion());
         return 0;
     }
 
     public void setAltMoney(int altMoney) {
         if (!supportsAltMoney()) {
             logger.log(INFO, "altMoney variable not found for character {0}, version {1}",
-                    saveData.getPlayerName(), saveData.getHeaderInfo().getPlayerVersion());
+                    getSaveData().getPlayerName(), getSaveData().getHeaderInfo().getPlayerVersion());
             return;
         }
 
@@ -569,63 +696,67 @@ public class Player {
     }
 
     public String getStatGreatestMonsterKilledName() {
-        List<String> monsters = getDataMap().getStringValuesFromBlock(
-                        (PlayerFileVariable.valueOf(getSaveData().getPlatform(), "greatestMonsterKilledName").variable()))
-                .stream().filter(v -> v != null && !v.isEmpty()).toList();
-        if (monsters.isEmpty()) {
-            return null;
-        }
-        return monsters.getLast();
+        return PlayerCharacterMapper.greatestMonsterKilledName(getDataMap());
     }
 
     public void resetStatGreatestMonsterKilledName() {
-        String var = PlayerFileVariable.valueOf(getSaveData().getPlatform(), "greatestMonsterKilledName").variable();
+        FileDataMap.Batch batch = getDataMap().batch();
+        resetStatGreatestMonsterKilledName(batch);
+        batch.commit();
+    }
+
+    private void resetStatGreatestMonsterKilledName(FileDataMap.Batch batch) {
+        for (VariableInfo vi : getStatValues("greatestMonsterKilledName")) {
+            if (vi.getVariableType().equals(VariableType.STRING) || vi.getVariableType().equals(VariableType.STRING_UTF_16_LE) || vi.getVariableType().equals(VariableType.STRING_UTF_32_LE)) {
+                batch.setString(vi, "");
+            }
+        }
+    }
+
+    /**
+     * Returns the variables with a value in the block where the statistic is found.
+     *
+     * @param stat name of the variable on windows platform
+     */
+    private List<VariableInfo> getStatValues(String stat) {
+        String var = PlayerFileVariable.valueOf(getSaveData().getPlatform(), stat).variable();
         int block = getDataMap().getVariableLocation().get(var).getFirst();
+        List<VariableInfo> values = new ArrayList<>();
         if (getDataMap().getBlockInfo().get(block) != null) {
-            for (VariableInfo vi : getDataMap().getBlockInfo().get(block).getVariables().values()) {
-                if (vi.getValue() == null || !vi.getName().equals(var)) {
-                    continue;
-                }
-                if (vi.getVariableType().equals(VariableType.STRING) || vi.getVariableType().equals(VariableType.STRING_UTF_16_LE) || vi.getVariableType().equals(VariableType.STRING_UTF_32_LE)) {
-                    getDataMap().setString(vi, "");
+            for (VariableInfo vi : getDataMap().getBlockInfo().get(block).getVariableList()) {
+                if (vi.getValue() != null && vi.getName().equals(var)) {
+                    values.add(vi);
                 }
             }
         }
+        return values;
     }
 
     public int getStatGreatestMonsterKilledLevel() {
-        List<Integer> monsterLevels = getDataMap().getIntValuesFromBlock(
-                        PlayerFileVariable.valueOf(getSaveData().getPlatform(), "greatestMonsterKilledLevel").variable())
-                .stream().filter(v -> v >= 0).toList();
-        if (monsterLevels.isEmpty()) {
-            return -1;
-        }
-        return monsterLevels.getLast();
+        return PlayerCharacterMapper.greatestMonsterKilledLevel(getDataMap());
     }
 
     public void resetStatGreatestMonsterKilledLevel() {
-        String var = PlayerFileVariable.valueOf(getSaveData().getPlatform(), "greatestMonsterKilledLevel").variable();
-        int block = getDataMap().getVariableLocation().get(var).getFirst();
-        if (getDataMap().getBlockInfo().get(block) != null) {
-            for (VariableInfo vi : getDataMap().getBlockInfo().get(block).getVariables().values()) {
-                if (vi.getValue() == null || !vi.getName().equals(var)) {
-                    continue;
-                }
-                getDataMap().setInt(vi, 0);
-            }
+        FileDataMap.Batch batch = getDataMap().batch();
+        resetStatGreatestMonsterKilledLevel(batch);
+        batch.commit();
+    }
+
+    private void resetStatGreatestMonsterKilledLevel(FileDataMap.Batch batch) {
+        for (VariableInfo vi : getStatValues("greatestMonsterKilledLevel")) {
+            batch.setInt(vi, 0);
         }
     }
 
     public void resetStatGreatestMonsterKilledLifeAndMana() {
-        String var = PlayerFileVariable.valueOf(getSaveData().getPlatform(), "greatestMonsterKilledLifeAndMana").variable();
-        int block = getDataMap().getVariableLocation().get(var).getFirst();
-        if (getDataMap().getBlockInfo().get(block) != null) {
-            for (VariableInfo vi : getDataMap().getBlockInfo().get(block).getVariables().values()) {
-                if (vi.getValue() == null || !vi.getName().equals(var)) {
-                    continue;
-                }
-                getDataMap().setInt(vi, 0);
-            }
+        FileDataMap.Batch batch = getDataMap().batch();
+        resetStatGreatestMonsterKilledLifeAndMana(batch);
+        batch.commit();
+    }
+
+    private void resetStatGreatestMonsterKilledLifeAndMana(FileDataMap.Batch batch) {
+        for (VariableInfo vi : getStatValues("greatestMonsterKilledLifeAndMana")) {
+            batch.setInt(vi, 0);
         }
     }
 
@@ -718,27 +849,29 @@ public class Player {
     }
 
     public void resetPlayerStats() {
-        resetStatGreatestMonsterKilledName();
-        resetStatGreatestMonsterKilledLevel();
-        resetStatGreatestMonsterKilledLifeAndMana();
-        setStatPlayTimeInSeconds(0);
-        setStatNumberOfDeaths(0);
-        setStatNumberOfKills(0);
-        setStatExperienceFromKills(0);
-        setStatHealthPotionsUsed(0);
-        setStatManaPotionsUsed(0);
-        setStatMaxLevel(1);
-        setStatNumHitsReceived(0);
-        setStatNumHitsInflicted(0);
-        setStatGreatestDamageInflicted(0);
-        setStatCriticalHitsInflicted(0);
-        setStatCriticalHitsReceived(0);
+        FileDataMap.Batch batch = getDataMap().batch();
+        resetStatGreatestMonsterKilledName(batch);
+        resetStatGreatestMonsterKilledLevel(batch);
+        resetStatGreatestMonsterKilledLifeAndMana(batch);
+        batch.setInt("playTimeInSeconds", 0)
+                .setInt("numberOfDeaths", 0)
+                .setInt("numberOfKills", 0)
+                .setInt("experienceFromKills", 0)
+                .setInt("healthPotionsUsed", 0)
+                .setInt("manaPotionsUsed", 0)
+                .setInt("maxLevel", 1)
+                .setInt("numHitsReceived", 0)
+                .setInt("numHitsInflicted", 0)
+                .setFloat("greatestDamageInflicted", 0)
+                .setInt("criticalHitsInflicted", 0)
+                .setInt("criticalHitsReceived", 0)
+                .commit();
     }
 
     private int getVariableValueIntegerValidate(String variable, int defaultVal) {
         if (!getDataMap().hasVariable(variable)) {
             logger.log(INFO, "{0} variable not found for character {1}, version {2}",
-                    variable, saveData.getPlayerName(), saveData.getHeaderInfo().getPlayerVersion());
+                    variable, getSaveData().getPlayerName(), getSaveData().getHeaderInfo().getPlayerVersion());
             return defaultVal;
         }
 
@@ -748,7 +881,7 @@ public class Player {
     private void setVariableValueIntegerValidate(String variable, int value) {
         if (!getDataMap().hasVariable(variable)) {
             logger.log(INFO, "{0} variable not found for character {1}, version {2}",
-                    variable, saveData.getPlayerName(), saveData.getHeaderInfo().getPlayerVersion());
+                    variable, getSaveData().getPlayerName(), getSaveData().getHeaderInfo().getPlayerVersion());
             return;
         }
 
@@ -772,17 +905,7 @@ public class Player {
     }
 
     public Gender getGender() {
-        String playerCharacterClass = getSaveData().getPlayerCharacterClass();
-
-        if (playerCharacterClass.isEmpty()) {
-            throw new IllegalArgumentException("Error reading playerCharacterClass");
-        }
-
-        if (Constants.Save.VALUE_PC_CLASS_FEMALE.equals(playerCharacterClass)) {
-            return Gender.FEMALE;
-        }
-
-        return Gender.MALE;
+        return PlayerCharacterMapper.gender(getSaveData().getPlayerCharacterClass());
     }
 
     public void setGender(Gender gender) {
@@ -883,7 +1006,7 @@ public class Player {
         } else {
             return null;
         }
-        List<VariableInfo> teleportUidsSizeVars = new ArrayList<>(block.getVariables().get(Constants.Save.VAR_TELEPORTUIDSSIZE));
+        List<VariableInfo> teleportUidsSizeVars = new ArrayList<>(block.getVariableByName(Constants.Save.VAR_TELEPORTUIDSSIZE));
         VariableInfo var = teleportUidsSizeVars.stream().sorted(Comparator.comparing(VariableInfo::getKeyOffset)).toList().get(difficulty);
         if (var.isInt() && var.getName().equals(Constants.Save.VAR_TELEPORTUIDSSIZE)) {
             return var;
@@ -998,7 +1121,7 @@ public class Player {
             throw new UnhandledRuntimeException("error creating teleport, offset not found");
         }
 
-        VariableInfo uidSize = teleportDifficulty.getBlockInfo().getVariables().get(Constants.Save.VAR_TELEPORTUIDSSIZE).get(difficulty);
+        VariableInfo uidSize = teleportDifficulty.getBlockInfo().getVariableByName(Constants.Save.VAR_TELEPORTUIDSSIZE).get(difficulty);
         VariableInfo newVi = new VariableInfo();
         newVi.setBlockOffset(uidSize.getBlockOffset());
         newVi.setVariableType(VariableType.UID);
@@ -1023,7 +1146,7 @@ public class Player {
             return null;
         }
 
-        List<VariableInfo> teleportUidsSizeVars = new ArrayList<>(Objects.requireNonNull(block).getVariables().get(Constants.Save.VAR_TELEPORTUIDSSIZE));
+        List<VariableInfo> teleportUidsSizeVars = new ArrayList<>(Objects.requireNonNull(block).getVariableByName(Constants.Save.VAR_TELEPORTUIDSSIZE));
         teleportUidsSizeVars.sort(Comparator.comparing(VariableInfo::getKeyOffset));
         if (difficulty < 0 || difficulty >= teleportUidsSizeVars.size()) {
             return null;
@@ -1033,14 +1156,14 @@ public class Player {
 
         List<VariableInfo> teleports = new ArrayList<>();
 
-        List<VariableInfo> teleportUidVars = block.getVariables().get(Constants.Save.VAR_TELEPORTUID)
+        List<VariableInfo> teleportUidVars = block.getVariableByName(Constants.Save.VAR_TELEPORTUID)
                 .stream().sorted(Comparator.comparing(VariableInfo::getKeyOffset)).toList();
 
         int curDiff = -1;
         int startOffset = -1;
         int endOffset = -1;
 
-        for (VariableInfo v : block.getVariables().values().stream().sorted(Comparator.comparing(VariableInfo::getKeyOffset)).toList()) {
+        for (VariableInfo v : block.getVariableList().stream().sorted(Comparator.comparing(VariableInfo::getKeyOffset)).toList()) {
             if (!Constants.Save.VAR_TELEPORTUIDSSIZE.equals(v.getName()) && !Constants.Save.VAR_TELEPORTUID.equals(v.getName())) {
                 continue;
             }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Respec.
+
+    TQ Respec is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Respec is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Respec.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package br.com.pinter.tqrespec.save.player;
+
+import br.com.pinter.tqrespec.save.FileDataMap;
+import br.com.pinter.tqrespec.tqdata.PlayerCharacter;
+import br.com.pinter.tqrespec.util.Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates a {@link PlayerCharacter} with the values read from a savegame. Path, location, class name, masteries and
+ * teleports depend on the game installation and database, and are filled by the caller.
+ */
+final class PlayerCharacterMapper {
+    private PlayerCharacterMapper() {
+    }
+
+    static PlayerCharacter map(FileDataMap data, HeaderInfo headerInfo) {
+        PlayerCharacter playerCharacter = new PlayerCharacter();
+        playerCharacter.setName(data.getCharacterName());
+        playerCharacter.setGender(gender(headerInfo.getPlayerCharacterClass()));
+        playerCharacter.setLevel(data.getInt("currentStats.charLevel"));
+        playerCharacter.setDifficulty(data.getTempAttr("difficulty"));
+        playerCharacter.setExperience(data.getInt("currentStats.experiencePoints"));
+        playerCharacter.setGold(data.getInt("money"));
+        playerCharacter.setStatAvailableAttrPoints(data.getInt("modifierPoints"));
+        playerCharacter.setStatAvailableSkillPoints(data.getInt(Constants.Save.SKILL_POINTS));
+        playerCharacter.setStatStr(data.getTempAttr("str"));
+        playerCharacter.setStatDex(data.getTempAttr("dex"));
+        playerCharacter.setStatInt(data.getTempAttr("int"));
+        playerCharacter.setStatLife(data.getTempAttr("life"));
+        playerCharacter.setStatMana(data.getTempAttr("mana"));
+        playerCharacter.setMasteries(new ArrayList<>());
+        playerCharacter.setPlayTimeInSeconds(data.getInt("playTimeInSeconds"));
+        playerCharacter.setGreatestMonsterKilledName(greatestMonsterKilledName(data));
+        playerCharacter.setNumberOfDeaths(data.getInt("numberOfDeaths"));
+        playerCharacter.setNumberOfKills(data.getInt("numberOfKills"));
+        playerCharacter.setExperienceFromKills(data.getInt("experienceFromKills"));
+        playerCharacter.setHealthPotionsUsed(data.getInt("healthPotionsUsed"));
+        playerCharacter.setManaPotionsUsed(data.getInt("manaPotionsUsed"));
+        playerCharacter.setNumHitsInflicted(data.getInt("numHitsInflicted"));
+        playerCharacter.setNumHitsReceived(data.getInt("numHitsReceived"));
+        playerCharacter.setGreatestDamageInflicted(Math.round(data.getFloat("greatestDamageInflicted")));
+        playerCharacter.setGreatestMonsterKilledLevel(greatestMonsterKilledLevel(data));
+        playerCharacter.setCriticalHitsInflicted(data.getInt("criticalHitsInflicted"));
+        return playerCharacter;
+    }
+
+    static Gender gender(String playerCharacterClass) {
+        if (playerCharacterClass.isEmpty()) {
+            throw new IllegalArgumentException("Error reading playerCharacterClass");
+        }
+
+        if (Constants.Save.VALUE_PC_CLASS_FEMALE.equals(playerCharacterClass)) {
+            return Gender.FEMALE;
+        }
+
+        return Gender.MALE;
+    }
+
+    static String greatestMonsterKilledName(FileDataMap data) {
+        List<String> monsters = data.getStringValuesFromBlock(
+                        PlayerFileVariable.valueOf(data.getPlatform(), "greatestMonsterKilledName").variable())
+                .stream().filter(v -> v != null && !v.isEmpty()).toList();
+        if (monsters.isEmpty()) {
+            return null;
+        }
+        return monsters.getLast();
+    }
+
+    static int greatestMonsterKilledLevel(FileDataMap data) {
+        List<Integer> monsterLevels = data.getIntValuesFromBlock(
+                        PlayerFileVariable.valueOf(data.getPlatform(), "greatestMonsterKilledLevel").variable())
+                .stream().filter(v -> v >= 0).toList();
+        if (monsterLevels.isEmpty()) {
+            return -1;
+        }
+        return monsterLevels.getLast();
+    }
+}
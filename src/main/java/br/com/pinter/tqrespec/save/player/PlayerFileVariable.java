@@ -33,6 +33,10 @@ import java.util.Map;
 
 public class PlayerFileVariable implements FileVariable {
     private static final Map<Platform, HashMap<String, PlayerFileVariable>> variablesMap = new EnumMap<>(Platform.class);
+    //first definition found for each variable name
+    private static final Map<Platform, Map<String, PlayerFileVariable>> variablesByName = new EnumMap<>(Platform.class);
+    //first block type found for each variable name, by the name of the parent block type
+    private static final Map<Platform, Map<String, Map<String, BlockType>>> blockTypesByParent = new EnumMap<>(Platform.class);
 
     static {
         HashMap<String, PlayerFileVariable> map = new HashMap<>();
@@ -178,6 +182,21 @@ public class PlayerFileVariable implements FileVariable {
         mapMobile.put("currentDifficulty", new PlayerFileVariable("currentDifficulty", VariableType.INTEGER, PlayerBlockType.PLAYER_HEADER));
         variablesMap.put(Platform.WINDOWS, map);
         variablesMap.put(Platform.MOBILE, mapMobile);
+
+        //the maps are iterated in the same order the searches were done before the indexes existed
+        variablesMap.forEach((platform, variables) -> {
+            Map<String, PlayerFileVariable> byName = new HashMap<>();
+            Map<String, Map<String, BlockType>> byParent = new HashMap<>();
+            for (PlayerFileVariable v : variables.values()) {
+                byName.putIfAbsent(v.variable, v);
+                if (v.location.getParent() != null) {
+                    byParent.computeIfAbsent(v.location.getParent().name(), k -> new HashMap<>())
+                            .putIfAbsent(v.variable, v.location);
+                }
+            }
+            variablesByName.put(platform, byName);
+            blockTypesByParent.put(platform, byParent);
+        });
     }
 
     private final BlockType location;
@@ -213,9 +232,8 @@ public class PlayerFileVariable implements FileVariable {
      */
     public static PlayerFileVariable getVar(Platform platform, String variableName) {
         PlayerFileVariable ret = null;
-        if (variablesMap.get(platform) != null) {
-            ret = variablesMap.get(platform).values().stream().filter(v -> v.variable.equals(variableName))
-                    .findFirst().orElse(null);
+        if (variablesByName.get(platform) != null) {
+            ret = variablesByName.get(platform).get(variableName);
         }
 
         if (ret != null) {
@@ -241,12 +259,10 @@ public class PlayerFileVariable implements FileVariable {
     }
 
     public static BlockType getBlockTypeFromParent(Platform platform, BlockType parent, String varName) {
-        if (variablesMap.get(platform) != null) {
-            for (Map.Entry<String, PlayerFileVariable> v : variablesMap.get(platform).entrySet()) {
-                BlockType t = v.getValue().location;
-                if (t.getParent() != null && varName.equals(v.getValue().variable) && t.getParent().name().equals(parent.name())) {
-                    return t;
-                }
+        if (blockTypesByParent.get(platform) != null) {
+            Map<String, BlockType> children = blockTypesByParent.get(platform).get(parent.name());
+            if (children != null && children.get(varName) != null) {
+                return children.get(varName);
             }
         }
 
@@ -24,6 +24,7 @@ import br.com.pinter.tqrespec.logging.Log;
 import br.com.pinter.tqrespec.save.BlockInfo;
 import br.com.pinter.tqrespec.save.BlockType;
 import br.com.pinter.tqrespec.save.FileBlockType;
+import br.com.pinter.tqrespec.save.FileDataMap;
 import br.com.pinter.tqrespec.save.FileParser;
 import br.com.pinter.tqrespec.save.FileVariable;
 import br.com.pinter.tqrespec.save.IncompatibleSavegameException;
@@ -32,23 +33,26 @@ import br.com.pinter.tqrespec.save.Platform;
 import br.com.pinter.tqrespec.save.VariableInfo;
 import br.com.pinter.tqrespec.save.VariableType;
 import br.com.pinter.tqrespec.tqdata.GameVersion;
+import br.com.pinter.tqrespec.tqdata.PlayerCharacter;
 import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.ImmutableListMultimap;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
+import java.util.Collections;
 import java.util.EnumSet;
+import java.util.Set;
 
 import static java.lang.System.Logger.Level.DEBUG;
 import static java.lang.System.Logger.Level.ERROR;
 
 final class PlayerParser extends FileParser {
     private static final System.Logger logger = Log.getLogger(PlayerParser.class);
+    private static final Set<GameVersion> SUPPORTED_HEADER_VERSIONS = Collections.unmodifiableSet(
+            EnumSet.of(GameVersion.TQIT, GameVersion.TQAE, GameVersion.TQLE));
+    private static final int MIN_PLAYER_VERSION = 5;
 
     private final String player;
     private final File playerChr;
@@ -120,16 +124,14 @@ final class PlayerParser extends FileParser {
 
                 String valueLog = null;
 
-                if (e.type() == VariableType.INTEGER) {
-                    int valueInt = (int) variableInfo.getValue();
-                    valueLog = String.valueOf(valueInt);
-                    readIntegerFromHeader(h, name, valueInt);
-                }
-
-                if (e.type() == VariableType.STRING) {
-                    String valueString = (String) variableInfo.getValue();
-                    valueLog = valueString;
-                    readStringFromHeader(h, name, valueString);
+                if (e.type() == VariableType.INTEGER || e.type() == VariableType.STRING) {
+                    valueLog = String.valueOf(variableInfo.getValue());
+                    try {
+                        h.setVariable(getDetectedPlatform(), name, variableInfo.getValue());
+                    } catch (EnumConstantNotPresentException ex) {
+                        throw new IncompatibleSavegameException(
+                                String.format("Incompatible character '%s' (unknown headerVersion)", this.player));
+                    }
                 }
 
                 String logMsg = String.format(logFmt, name, valueLog, e.type());
@@ -147,34 +149,30 @@ final class PlayerParser extends FileParser {
             }
         }
         getBlockInfo().put(block.getStart(), block);
-        block.setVariables(ImmutableListMultimap.copyOf(variables));
-        if (block.getVariables().containsKey("currentDifficulty") && h.getHeaderVersion().equals(GameVersion.TQLE)) {
+        block.setVariables(variables);
+        if (block.containsVariable("currentDifficulty") && h.getHeaderVersion().equals(GameVersion.TQLE)) {
             setDetectedPlatform(Platform.MOBILE);
         }
         return h;
     }
 
-    private void readIntegerFromHeader(HeaderInfo h, String name, int valueInt) throws IncompatibleSavegameException {
-        try {
-            if (name.equals(PlayerFileVariable.valueOf(getDetectedPlatform(), "headerVersion").variable()))
-                h.setHeaderVersion(GameVersion.fromValue(valueInt));
-        } catch (EnumConstantNotPresentException e) {
-            throw new IncompatibleSavegameException(
-                    String.format("Incompatible character '%s' (unknown headerVersion)", this.player));
-
-        }
-        if (name.equals(PlayerFileVariable.valueOf(getDetectedPlatform(), "playerVersion").variable()))
-            h.setPlayerVersion(valueInt);
-        if (name.equals(PlayerFileVariable.valueOf(getDetectedPlatform(), "playerLevel").variable()))
-            h.setPlayerLevel(valueInt);
-    }
-
-    private void readStringFromHeader(HeaderInfo h, String name, String valueString) {
-        if (name.equals(PlayerFileVariable.valueOf(getDetectedPlatform(), "playerCharacterClass").variable()))
-            h.setPlayerCharacterClass(valueString);
-        if (name.equals(PlayerFileVariable.valueOf(getDetectedPlatform(), "playerClassTag").variable())) {
-            h.setPlayerClassTag(valueString);
-        }
+    /**
+     * Parses the header and the variables needed to list the character. Blocks are mapped without parsing, and only
+     * the blocks where these variables are found are parsed (see {@link FileParser#setLazy(boolean)}).
+     * Class name, masteries and teleports depend on the game database and are not filled.
+     *
+     * @return a summary of the character
+     */
+    PlayerCharacter parseSummary() {
+        setLazy(true);
+        parse();
+
+        FileDataMap data = new FileDataMap();
+        data.setPlatform(getDetectedPlatform());
+        data.setBlockInfo(getBlockInfo());
+        data.setVariableLocation(getVariableLocation());
+
+        return PlayerCharacterMapper.map(data, headerInfo);
     }
 
     @Override
@@ -189,17 +187,27 @@ final class PlayerParser extends FileParser {
 
         headerInfo = parseHeader();
 
-        if (!EnumSet.of(GameVersion.TQIT, GameVersion.TQAE, GameVersion.TQLE).contains(headerInfo.getHeaderVersion())) {
+        if (!SUPPORTED_HEADER_VERSIONS.contains(headerInfo.getHeaderVersion())) {
             throw new IncompatibleSavegameException(
                     String.format("Incompatible character '%s' (unknown headerVersion)", this.player));
         }
 
-        if (headerInfo.getPlayerVersion() < 5) {
+        if (headerInfo.getPlayerVersion() < MIN_PLAYER_VERSION) {
             throw new IncompatibleSavegameException(
-                    String.format("Incompatible character '%s' (playerVersion must be >= 5)", this.player));
+                    String.format("Incompatible character '%s' (playerVersion must be >= %d)", this.player, MIN_PLAYER_VERSION));
         }
     }
 
+    /**
+     * @param headerVersion the value of the header version
+     * @param playerVersion the player version
+     * @return true if a character with the versions found in its header can be parsed
+     */
+    static boolean isSupported(int headerVersion, int playerVersion) {
+        return SUPPORTED_HEADER_VERSIONS.stream().anyMatch(v -> v.value() == headerVersion)
+                && playerVersion >= MIN_PLAYER_VERSION;
+    }
+
     @Override
     protected boolean readFile() throws IOException {
         if (!playerChr.exists()) {
@@ -209,12 +217,7 @@ final class PlayerParser extends FileParser {
 
         try (FileInputStream chr = new FileInputStream(playerChr)) {
             try (FileChannel in = chr.getChannel()) {
-                setBuffer(ByteBuffer.allocate((int) in.size()));
-                this.getBuffer().order(ByteOrder.LITTLE_ENDIAN);
-
-                while (true) {
-                    if (in.read(this.getBuffer()) <= 0) break;
-                }
+                readChannel(in);
             }
         }
 
@@ -50,17 +50,12 @@ import java.nio.file.FileVisitResult;
 import java.nio.file.FileVisitor;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Stream;
 
 import static java.lang.System.Logger.Level.ERROR;
 import static java.lang.System.Logger.Level.INFO;
@@ -75,6 +70,28 @@ public class PlayerWriter extends FileWriter {
     @Inject
     private GameInfo gameInfo;
 
+    private volatile boolean saveDataRebased = false;
+
+    private int backupThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * @return true if the last {@link #save()} kept the loaded character up to date with the file written, so it can
+     * be changed and saved again without loading it
+     */
+    public boolean isSaveDataRebased() {
+        return saveDataRebased;
+    }
+
+    /**
+     * Sets the number of threads used to compress the files of a backup. Defaults to the number of processors; when
+     * several characters are saved in parallel, each backup should use fewer threads.
+     *
+     * @param backupThreads number of threads, at least 1
+     */
+    public void setBackupThreads(int backupThreads) {
+        this.backupThreads = Math.max(1, backupThreads);
+    }
+
     @Override
     public int getCrcOffset() {
         return 0;
@@ -105,83 +122,16 @@ public class PlayerWriter extends FileWriter {
             return true;
         }
 
-        if (!backupDirectory.exists() && !backupDirectory.mkdir()) {
+        //the directory can be created concurrently by another writer
+        if (!backupDirectory.exists() && !backupDirectory.mkdir() && !backupDirectory.isDirectory()) {
             throw new IOException("Unable to create backup directory at " + backupDirectory.getAbsolutePath());
         }
 
         if (backupDirectory.canWrite()) {
-            URI zipUri = URI.create("jar:" + destPlayerZip.toURI());
-
-            try (FileSystem zipFs = FileSystems.newFileSystem(zipUri, Map.of("create", "true"))) {
-                final Path root = zipFs.getPath("/");
-                if (fullBackup) {
-                    Files.walkFileTree(player.getParent(), new SimpleFileVisitor<>() {
-                        @Override
-                        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                            Objects.requireNonNull(file);
-                            Objects.requireNonNull(attrs);
-                            Path subPath = file.subpath(player.getParent().getNameCount() - 1, file.getNameCount());
-                            final Path dest = zipFs.getPath(root.toString(), subPath.toString());
-                            if (!Files.exists(zipFs.getPath(subPath.subpath(0, subPath.getNameCount() - 1).toString()))) {
-                                // dest directory doesn't exists
-                                return FileVisitResult.CONTINUE;
-                            }
-
-                            Files.copy(file, dest, StandardCopyOption.REPLACE_EXISTING);
-                            return FileVisitResult.CONTINUE;
-                        }
-
-                        @Override
-                        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                            Objects.requireNonNull(dir);
-                            Objects.requireNonNull(attrs);
-                            Path rootDir = zipFs.getPath(root.toString(), "/" + player.getName(player.getNameCount() - 2));
-                            if (!Files.exists(rootDir)) {
-                                Files.createDirectories(rootDir);
-                            }
-                            if (player.getParent().getNameCount() == dir.getNameCount()) {
-                                return FileVisitResult.CONTINUE;
-                            }
-
-                            Path subPath = dir.subpath(player.getParent().getNameCount() - 1, dir.getNameCount());
-                            for (String toIgnore : Constants.Writer.BACKUP_IGNORE) {
-                                //ignore all backup* directories inside player directory
-                                if (subPath.subpath(1, subPath.getNameCount()).toString().matches(toIgnore)) {
-                                    return FileVisitResult.CONTINUE;
-                                }
-                            }
-
-                            final Path createDir = zipFs.getPath(root.toString(), subPath.toString());
-                            if (!Files.exists(createDir)) {
-                                Files.createDirectories(createDir);
-                            }
-                            return FileVisitResult.CONTINUE;
-                        }
-                    });
-                } else {
-                    Files.createDirectories(zipFs.getPath(root.toString(), "/" + player.getName(player.getNameCount() - 2)));
-                    addLevelsFilesToFs(zipFs, player.getParent(), zipFs.getPath(root.toString(), "/" + player.getName(player.getNameCount() - 2)));
-                    Path destPlayer = zipFs.getPath("/" + player.getName(player.getNameCount() - 2) + "/" + player.getFileName());
-
-                    Path srcDxb = Paths.get(saveData.getPlayerPath().toString(), "winsys.dxb");
-                    Path destDxb = zipFs.getPath("/" + player.getName(player.getNameCount() - 2) + "/winsys.dxb");
-                    Path srcDxg = Paths.get(saveData.getPlayerPath().toString(), "winsys.dxg");
-                    Path destDxg = zipFs.getPath("/" + player.getName(player.getNameCount() - 2) + "/winsys.dxg");
-
-                    Files.copy(player, destPlayer, StandardCopyOption.REPLACE_EXISTING);
-                    copyFileTimes(player, destPlayer);
-
-                    if (Files.exists(srcDxb)) {
-                        Files.copy(srcDxb, destDxb, StandardCopyOption.REPLACE_EXISTING);
-                        copyFileTimes(srcDxb, destDxb);
-                    }
-
-                    if (Files.exists(srcDxg)) {
-                        Files.copy(srcDxg, destDxg, StandardCopyOption.REPLACE_EXISTING);
-                        copyFileTimes(srcDxg, destDxg);
-                    }
-                }
-
+            BackupZipWriter zipWriter = new BackupZipWriter(player, fullBackup, Settings.getBackupCompressionLevel(),
+                    backupThreads);
+            try {
+                zipWriter.write(destPlayerZip.toPath());
                 return true;
             } catch (IOException e) {
                 logger.log(ERROR, Constants.ERROR_MSG_EXCEPTION, e);
@@ -192,52 +142,6 @@ public class PlayerWriter extends FileWriter {
         return false;
     }
 
-    public void addLevelsFilesToFs(FileSystem fs, Path playerDir, Path targetOnFs) throws IOException {
-        try (Stream<Path> levelsDirs = Files.walk(playerDir)) {
-            levelsDirs.forEach(p -> {
-                Path destDir = fs.getPath(targetOnFs.toString(), playerDir.relativize(p).toString());
-                if (Files.exists(destDir)) {
-                    return;
-                }
-                for (String toIgnore : Constants.Writer.BACKUP_IGNORE) {
-                    //ignore all backup* directories inside player directory
-                    if (p.getFileName().toString().matches(toIgnore)) {
-                        return;
-                    }
-                }
-                try {
-                    if (p.toFile().isDirectory() && Files.exists(destDir.getParent())) {
-                        Files.createDirectory(destDir);
-                    }
-                } catch (IOException e) {
-                    logger.log(ERROR, "Error adding path to zip: " + p, e);
-                }
-            });
-        }
-
-        try (Stream<Path> levelsFiles = Files.walk(playerDir)) {
-            levelsFiles.forEach(p -> {
-                PathMatcher pathMatcher = FileSystems.getDefault().getPathMatcher(Constants.Writer.BACKUP_PATHMATCHER);
-                try {
-                    Path destFile = fs.getPath(targetOnFs.toString(), playerDir.relativize(p).toString());
-                    Path destDir = destFile.getParent();
-                    if (pathMatcher.matches(p) && !p.toFile().isDirectory() && Files.exists(destDir)) {
-                        Files.copy(p, destFile);
-                        copyFileTimes(p, destFile);
-                    }
-                } catch (IOException e) {
-                    logger.log(ERROR, "Error adding path to zip: " + p, e);
-                }
-            });
-        }
-    }
-
-    private void copyFileTimes(Path src, Path dst) throws IOException {
-        Files.setAttribute(dst, "creationTime", Files.getAttribute(src, "creationTime"));
-        Files.setAttribute(dst, "lastModifiedTime", Files.getAttribute(src, "lastModifiedTime"));
-        Files.setAttribute(dst, "lastAccessTime", Files.getAttribute(src, "lastAccessTime"));
-    }
-
     public boolean backupCurrent() throws IOException {
         String playerChr = saveData.getPlayerChr().toString();
         String playerName = saveData.getPlayerName();
@@ -249,15 +153,38 @@ public class PlayerWriter extends FileWriter {
             return false;
         }
         State.get().setSaveInProgress(true);
+        saveDataRebased = false;
+        try {
+            writeCharacter();
+            saveDataRebased = rebaseSaveData();
+            if (saveDataRebased) {
+                //skills are rebuilt with the new block offsets
+                saveData.getPlayerSkills().clear();
+                //header values can be changed, like playerCharacterClass by the gender
+                saveData.setHeaderInfo(HeaderInfo.fromBlock(saveData.getDataMap().getBlockInfo().get(0),
+                        saveData.getDataMap().getPlatform()));
+            } else {
+                logger.log(INFO, "Changes of character ''{0}'' can't be applied to the loaded data, it must be loaded again",
+                        saveData.getPlayerName());
+            }
+            return true;
+        } finally {
+            State.get().setSaveInProgress(false);
+        }
+    }
+
+    /**
+     * Writes the loaded character to its Player.chr, without checking or changing the global save state. Used when
+     * many characters are saved concurrently, each one loaded by its own {@link Player} and PlayerWriter. The loaded
+     * data is not brought up to date, the character must be loaded again to be changed.
+     */
+    public void writeCharacter() {
         Path chrPath = saveData.getPlayerChr();
         String rootPath = chrPath.getRoot() + chrPath.subpath(0, chrPath.getNameCount() - 1).toString();
         String playerChr = chrPath.getFileName().toString();
         try {
             this.writeBuffer(rootPath, playerChr);
-            State.get().setSaveInProgress(false);
-            return true;
         } catch (IOException e) {
-            State.get().setSaveInProgress(false);
             throw new UnhandledRuntimeException("Error saving character", e);
         }
     }
@@ -299,7 +226,7 @@ public class PlayerWriter extends FileWriter {
                 throw new FileAlreadyExistsException("Target directory already exists: " + playerSaveDirTarget);
             }
 
-            FileDataMap fileDataMap = (FileDataMap) saveData.getDataMap().deepClone();
+            FileDataMap fileDataMap = saveData.getDataMap().copy();
 
             if (!toPlayerName.equals(saveData.getDataMap().getCharacterName())) {
                 // set name before conversion
@@ -33,10 +33,15 @@ public class StashLoader {
     }
 
     public boolean loadStash(Path playerPath, String playerName) {
+        return loadStash(playerPath, playerName, false);
+    }
+
+    public boolean loadStash(Path playerPath, String playerName, boolean memoryMapped) {
         if (!Files.exists(playerPath.resolve(Constants.STASH_FILE))) {
             return false;
         }
         StashParser stashParser = new StashParser(playerPath.toString());
+        stashParser.setMemoryMapped(memoryMapped);
         stashData = new StashData();
         stashData.setPlayerPath(playerPath);
         stashData.setBuffer(stashParser.load());
@@ -31,8 +31,6 @@ import br.com.pinter.tqrespec.util.Constants;
 
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -58,12 +56,7 @@ class StashParser extends FileParser {
         }
         try (FileInputStream chr = new FileInputStream(getStashFileName())) {
             try (FileChannel in = chr.getChannel()) {
-                setBuffer(ByteBuffer.allocate((int) in.size()));
-                this.getBuffer().order(ByteOrder.LITTLE_ENDIAN);
-
-                while (true) {
-                    if (in.read(this.getBuffer()) <= 0) break;
-                }
+                readChannel(in);
             }
         }
 
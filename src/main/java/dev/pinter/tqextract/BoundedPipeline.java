@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2025 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Extract.
+
+    TQ Extract is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Extract is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Extract.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package dev.pinter.tqextract;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Producer/consumer pipeline with bounded queues between the stages. Items are put by the caller, processed by a pool
+ * of workers (read, decompress, convert), and the results are consumed by the writers. When a queue is full the
+ * previous stage waits, so the memory used depends on the capacity of the queues and not on the number of items, and
+ * the disk writes overlap with the work of the next items.
+ *
+ * @param <T> the items
+ * @param <R> the results of the workers
+ */
+class BoundedPipeline<T, R> {
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> input;
+    private final BlockingQueue<Object> output;
+    private final Function<T, R> process;
+    private final Consumer<R> write;
+    private final Consumer<Throwable> errorHandler;
+    private final Runnable doneHandler;
+    private final List<Thread> workers = new ArrayList<>();
+    private final List<Thread> writers = new ArrayList<>();
+
+    /**
+     * @param name         prefix of the threads names
+     * @param workers      number of threads processing items
+     * @param writers      number of threads consuming the results
+     * @param process      the work done for each item, a null result is not written
+     * @param write        consumes the results
+     * @param errorHandler called when an item fails in any stage, including errors, the item is discarded
+     * @param doneHandler  called for each item finished, including the failed ones
+     */
+    BoundedPipeline(String name, int workers, int writers, Function<T, R> process, Consumer<R> write,
+                    Consumer<Throwable> errorHandler, Runnable doneHandler) {
+        int workersCount = Math.max(1, workers);
+        this.input = new ArrayBlockingQueue<>(workersCount * 4);
+        this.output = new ArrayBlockingQueue<>(workersCount * 2);
+        this.process = process;
+        this.write = write;
+        this.errorHandler = errorHandler;
+        this.doneHandler = doneHandler;
+
+        for (int i = 0; i < workersCount; i++) {
+            this.workers.add(Thread.ofPlatform().name(name + "-worker-" + i).start(this::work));
+        }
+        for (int i = 0; i < Math.max(1, writers); i++) {
+            this.writers.add(Thread.ofPlatform().name(name + "-writer-" + i).start(this::writeResults));
+        }
+    }
+
+    /**
+     * Adds an item, waiting while the workers are busy with the items already added.
+     */
+    void put(T item) throws InterruptedException {
+        input.put(item);
+    }
+
+    /**
+     * Waits all items added to be processed and written, and stops the threads. No items can be added after. The
+     * threads are started by the constructor, so this must be called even when adding the items fails.
+     */
+    void finish() throws InterruptedException {
+        for (int i = 0; i < workers.size(); i++) {
+            input.put(END);
+        }
+        for (Thread t : workers) {
+            t.join();
+        }
+        for (int i = 0; i < writers.size(); i++) {
+            output.put(END);
+        }
+        for (Thread t : writers) {
+            t.join();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void work() {
+        try {
+            Object item;
+            while ((item = input.take()) != END) {
+                R result = null;
+                try {
+                    result = process.apply((T) item);
+                } catch (Throwable e) {
+                    //a worker must not die, the items put later would never be taken
+                    errorHandler.accept(e);
+                }
+                if (result != null) {
+                    output.put(result);
+                } else {
+                    doneHandler.run();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeResults() {
+        try {
+            Object result;
+            while ((result = output.take()) != END) {
+                try {
+                    write.accept((R) result);
+                } catch (Throwable e) {
+                    errorHandler.accept(e);
+                } finally {
+                    doneHandler.run();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -70,6 +70,11 @@ public class Cli {
             " Higher the number, higher will be the memory usage.", order = 2)
     private int maxThreads;
 
+    @Option(names = {"--incremental", "-i"}, description = "Extract only the files modified since the last extraction to the" +
+            " same output directory, and delete the files removed from the game. A manifest is kept in the output directory.",
+            order = 3)
+    private boolean incremental;
+
     private Cli() {
         prepareInjectionContext();
         this.maxThreads = maxThreads == 0 ? Math.max(5, Runtime.getRuntime().availableProcessors() - 4) : maxThreads;
@@ -305,6 +310,7 @@ public class Cli {
         } else {
             extract = new Extract(outputDir, maxThreads);
         }
+        extract.setIncremental(incremental);
         extract.setProgressHandler((tag, count, total) -> {
             printProgress(tag, count, total);
             return null;
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2025 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Extract.
+
+    TQ Extract is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Extract is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Extract.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package dev.pinter.tqextract;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Serializes the lines of a DBR record to UTF-8, separated by the system line separator. The size of the file is
+ * computed from the lines first, and the lines are encoded directly to an array of that size, without joining them in
+ * a String or copying a larger buffer. The output is the same as encoding the joined lines to UTF-8.
+ */
+final class DbrWriter {
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+    private DbrWriter() {
+    }
+
+    /**
+     * @param lines the lines of the record, from {@code DbRecord.asFile()}
+     * @return the content of the DBR file
+     * @throws IllegalArgumentException if a line has a malformed surrogate, the file would not be valid UTF-8
+     */
+    static byte[] write(List<String> lines) {
+        int size = lines.isEmpty() ? 0 : LINE_SEPARATOR.length * (lines.size() - 1);
+        for (String line : lines) {
+            size += encodedLength(line);
+        }
+
+        byte[] data = new byte[size];
+        int pos = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            if (i > 0) {
+                System.arraycopy(LINE_SEPARATOR, 0, data, pos, LINE_SEPARATOR.length);
+                pos += LINE_SEPARATOR.length;
+            }
+            pos = encode(lines.get(i), data, pos);
+        }
+        return data;
+    }
+
+    private static int encodedLength(String line) {
+        int size = line.length();
+        int length = size;
+        for (int i = 0; i < size; i++) {
+            char c = line.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < size && Character.isLowSurrogate(line.charAt(i + 1))) {
+                //two chars for four bytes
+                length += 2;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                throw new IllegalArgumentException(String.format("Malformed surrogate at position %d: %s", i, line));
+            } else if (c >= 0x800) {
+                length += 2;
+            } else if (c >= 0x80) {
+                length++;
+            }
+        }
+        return length;
+    }
+
+    private static int encode(String line, byte[] data, int pos) {
+        int size = line.length();
+        for (int i = 0; i < size; i++) {
+            char c = line.charAt(i);
+            if (c < 0x80) {
+                data[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                data[pos++] = (byte) (0xC0 | (c >> 6));
+                data[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c)) {
+                //paired, checked by encodedLength
+                int cp = Character.toCodePoint(c, line.charAt(++i));
+                data[pos++] = (byte) (0xF0 | (cp >> 18));
+                data[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                data[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                data[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else {
+                data[pos++] = (byte) (0xE0 | (c >> 12));
+                data[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                data[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return pos;
+    }
+}
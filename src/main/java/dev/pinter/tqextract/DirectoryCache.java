@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2025 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Extract.
+
+    TQ Extract is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Extract is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Extract.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package dev.pinter.tqextract;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Directories already created by the extraction. Each directory is created only once, the files written after that
+ * to the same directory don't touch the filesystem to check if it exists. Threads creating different directories
+ * don't wait for each other, unless the directories fall in the same lock stripe.
+ */
+public class DirectoryCache {
+    private static final int STRIPES = 64;
+
+    private final Set<Path> created = ConcurrentHashMap.newKeySet();
+    private final Object[] locks = new Object[STRIPES];
+
+    public DirectoryCache() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Creates the directory and its parents, if not created before by this cache.
+     *
+     * @param dir the directory to create
+     * @throws IOException if the directory can't be created, or if a file with the same name exists
+     */
+    public void createDirectories(Path dir) throws IOException {
+        Path path = dir.toAbsolutePath().normalize();
+        if (created.contains(path)) {
+            return;
+        }
+
+        synchronized (locks[Math.floorMod(path.hashCode(), STRIPES)]) {
+            if (created.contains(path)) {
+                return;
+            }
+            Files.createDirectories(path);
+            //the parents exist now, files written to them don't need to check again
+            Path p = path;
+            while (p != null && created.add(p)) {
+                p = p.getParent();
+            }
+        }
+    }
+
+    /**
+     * Creates the parent directory of the file, if not created before by this cache.
+     *
+     * @param file the file that will be written
+     * @throws IOException if the directory can't be created, or if a file with the same name exists
+     */
+    public void createParent(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            createDirectories(parent);
+        }
+    }
+}
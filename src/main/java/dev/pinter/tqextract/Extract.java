@@ -39,6 +39,7 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferInt;
 import java.awt.image.Raster;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.FileVisitor;
@@ -47,17 +48,17 @@ import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.Executor;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static java.lang.System.Logger.Level.DEBUG;
 import static java.lang.System.Logger.Level.ERROR;
@@ -65,16 +66,18 @@ import static java.lang.System.Logger.Level.INFO;
 
 public class Extract {
     private static final System.Logger logger = Log.getLogger(Extract.class);
-    private final CountDownLatch latch = new CountDownLatch(1);
-    private final AtomicInteger arcDoneFutures = new AtomicInteger(0);
-    private final List<CompletableFuture<Path>> arcFutures = Collections.synchronizedList(new ArrayList<>());
-    private final ExecutorService executorArc;
+    private final AtomicInteger done = new AtomicInteger(0);
+    private final AtomicInteger total = new AtomicInteger(0);
+    private final AtomicInteger unchanged = new AtomicInteger(0);
+    private final int threads;
     private final ExecutorService executorMap;
-    private final ExecutorService executorArz;
+    private final DirectoryCache directoryCache = new DirectoryCache();
     private boolean convertTexToDds = false;
     private boolean convertTexToPng = false;
     private boolean convertTexIgnoreMip = false;
     private boolean decompileMap = true;
+    private boolean incremental = false;
+    private ExtractManifest manifest;
     private final Path outputDir;
     private int mapWrlScaling = 0;
     private TriFunction<String, Integer, Integer, Void> progressHandler = (s, c, t) -> null;
@@ -89,10 +92,8 @@ public class Extract {
 
         Log.setupGlobalLogging(logFile);
 
-        int threads = Math.max(1, maxThreads);
-        executorArc = Executors.newFixedThreadPool(threads);
+        threads = Math.max(1, maxThreads);
         executorMap = Executors.newSingleThreadExecutor();
-        executorArz = Executors.newFixedThreadPool(threads);
 
         logger.log(INFO, "Max threads set to {0}", maxThreads);
     }
@@ -125,6 +126,18 @@ public class Extract {
         this.mapWrlScaling = scaling > 0 ? scaling : 1;
     }
 
+    /**
+     * Skips the ARC, ARZ and entries not modified since the last extraction to the same output directory, and deletes
+     * the files extracted from entries removed from the sources. See {@link ExtractManifest}.
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * Extracts all ARC and ARZ files found. The ARZ databases are loaded and their records queued by a few reader
+     * threads, one file at a time each, while the ARC entries are queued, all extracted by the same workers.
+     */
     public void processDirectory(Path basePath) throws IOException {
         logger.log(INFO, "Files will be extracted to ''{0}''", outputDir);
         printInfo("Files will be extracted to '%s'", outputDir);
@@ -132,30 +145,55 @@ public class Extract {
         List<Path> arcToExtract = searchFiles(basePath, "arc");
         List<Path> arzToExtract = searchFiles(basePath, "arz");
 
-        for (var file : arcToExtract) {
-            Path relativePath = basePath.relativize(file);
-            printInfo("Found ARC '%s'", relativePath);
-            logger.log(INFO, "Found ARC ''{0}''", relativePath);
+        openManifest();
+        BoundedPipeline<ExtractTask, ExtractOutput> pipeline = createPipeline();
+        logger.log(INFO, "Extraction starting");
+        List<ArzSource> arzSources = new ArrayList<>();
+        Queue<ArzSource> pendingArz = new ConcurrentLinkedQueue<>();
+        for (var arz : arzToExtract) {
+            ArzSource source = new ArzSource(arz, outputDir, new AtomicInteger());
+            arzSources.add(source);
+            pendingArz.add(source);
+        }
+        //each reader loads a whole Database, the number of readers limits how many are in memory at once
+        int arzReaderCount = Math.min(arzSources.size(), Math.max(1, threads / 4));
+        List<Thread> arzReaders = new ArrayList<>();
+        for (int i = 0; i < arzReaderCount; i++) {
+            arzReaders.add(Thread.ofPlatform().name("arz-reader-" + i).start(() -> {
+                ArzSource source;
+                while ((source = pendingArz.poll()) != null) {
+                    try {
+                        processArz(source, pipeline);
+                    } catch (IOException | RuntimeException e) {
+                        logger.log(ERROR, "Failed to process ARZ ''{0}''", source.arz(), e);
+                        printInfo("ERROR: Failed to process ARZ '%s'", source.arz());
+                    }
+                }
+            }));
+        }
+        try {
+            for (var file : arcToExtract) {
+                Path relativePath = basePath.relativize(file);
+                printInfo("Found ARC '%s'", relativePath);
+                logger.log(INFO, "Found ARC ''{0}''", relativePath);
+                try {
+                    processArc(file, Path.of(outputDir.toString(), relativePath.toString()), pipeline);
+                } catch (IOException e) {
+                    logger.log(ERROR, "Failed to process ARC '%s'", relativePath, e);
+                }
+            }
+        } finally {
             try {
-                processArc(file, Path.of(outputDir.toString(), relativePath.toString()), executorArc);
-            } catch (IOException e) {
-                logger.log(ERROR, "Failed to process ARC '%s'", relativePath, e);
+                for (Thread t : arzReaders) {
+                    t.join();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } finally {
+                finish(pipeline, arzSources);
             }
         }
-        latch.countDown();
-        logger.log(INFO, "ARC extraction starting");
-        CompletableFuture.allOf(arcFutures.toArray(new CompletableFuture<?>[0]))
-                .thenRun(() -> {
-                    logger.log(INFO, "ARC extraction finished");
-                    printInfo("%nARC extraction finished");
-                }).join();
-        executorArc.shutdown();
-        executorMap.shutdown();
-        for (var arz : arzToExtract) {
-            extractArz(arz, outputDir);
-        }
-        executorArz.shutdown();
-        waitMessage();
     }
 
     public void processFile(Path arc) throws IOException {
@@ -163,45 +201,71 @@ public class Extract {
         printInfo("Files will be extracted to '%s'", outputDir);
         printInfo("Found ARC '%s'", arc);
         logger.log(INFO, "Found ARC ''{0}''", arc);
-        processArc(arc, Path.of(outputDir.toString(), arc.toAbsolutePath().getParent().relativize(arc.toAbsolutePath()).toString()), executorArc);
-        latch.countDown();
-        logger.log(INFO, "ARC extraction starting");
-        CompletableFuture.allOf(arcFutures.toArray(new CompletableFuture<?>[0]))
-                .thenRun(() -> {
-                    logger.log(INFO, "ARC extraction finished");
-                    printInfo("%nARC extraction finished");
-                }).join();
-        executorArc.shutdown();
-        executorMap.shutdown();
-        executorArz.shutdown();
-        waitMessage();
+        openManifest();
+        BoundedPipeline<ExtractTask, ExtractOutput> pipeline = createPipeline();
+        logger.log(INFO, "Extraction starting");
+        try {
+            processArc(arc, Path.of(outputDir.toString(), arc.toAbsolutePath().getParent().relativize(arc.toAbsolutePath()).toString()), pipeline);
+        } finally {
+            finish(pipeline, List.of());
+        }
     }
 
     public void extractArz(Path arz) throws IOException {
-        extractArz(arz, outputDir);
-        executorArc.shutdown();
-        executorMap.shutdown();
-        executorArz.shutdown();
+        openManifest();
+        BoundedPipeline<ExtractTask, ExtractOutput> pipeline = createPipeline();
+        ArzSource source = new ArzSource(arz, outputDir, new AtomicInteger());
+        try {
+            processArz(source, pipeline);
+        } finally {
+            finish(pipeline, List.of(source));
+        }
+    }
+
+    private void openManifest() throws IOException {
+        if (incremental) {
+            manifest = new ExtractManifest(outputDir, String.format("dds=%s;png=%s;ignoremip=%s;mapdecompiler=%s;wrlscaling=%s",
+                    convertTexToDds, convertTexToPng, convertTexIgnoreMip, decompileMap, mapWrlScaling));
+        }
+    }
+
+    /**
+     * @return true if the source was not modified since the last extraction in incremental mode, and can be skipped
+     */
+    private boolean isUnchanged(Path source) throws IOException {
+        if (manifest == null || !manifest.checkSource(source)) {
+            return false;
+        }
+        logger.log(INFO, "''{0}'' not modified, skipping", source);
+        printInfo("'%s' not modified, skipping", source.getFileName());
+        return true;
+    }
+
+    /**
+     * @return the entry to record in the manifest after the file is written, null if not in incremental mode
+     */
+    private ExtractManifest.Entry manifestEntry(Path source, Path output, byte[] data) {
+        return manifest != null ? manifest.entry(source, output, data) : null;
+    }
+
+    /**
+     * @return true if the entry was not modified since the last extraction in incremental mode, and its file exists
+     */
+    private boolean isUnchanged(ExtractManifest.Entry manifestEntry) {
+        if (manifestEntry == null || !manifest.isUnchanged(manifestEntry)) {
+            return false;
+        }
+        unchanged.incrementAndGet();
+        return true;
     }
 
     private void waitMessage() {
-        if (!executorArc.isTerminated() || !executorMap.isTerminated()) {
+        if (!executorMap.isTerminated()) {
             printInfo("Waiting workers to finish");
         }
         try {
-            boolean waitArc = true;
-            boolean waitArz = true;
-            boolean waitMap = true;
-            while (waitArc || waitArz || waitMap) {
-                if (executorArc.awaitTermination(2, TimeUnit.SECONDS)) {
-                    waitArc = false;
-                }
-                if (executorArz.awaitTermination(2, TimeUnit.SECONDS)) {
-                    waitArz = false;
-                }
-                if (executorMap.awaitTermination(2, TimeUnit.SECONDS)) {
-                    waitMap = false;
-                }
+            while (!executorMap.awaitTermination(2, TimeUnit.SECONDS)) {
+                logger.log(DEBUG, "Waiting MapDecompiler");
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -209,39 +273,114 @@ public class Extract {
         }
     }
 
-    private void processArc(Path file, Path dest, Executor executor) throws IOException {
+    /**
+     * The ARC entries and ARZ records are read and converted by {@link #threads} workers and written by two writers,
+     * the workers wait when the writers are behind and the entries are added as the workers are ready for more. The
+     * progress is the sum of all files.
+     */
+    private BoundedPipeline<ExtractTask, ExtractOutput> createPipeline() {
+        return new BoundedPipeline<>("extract", threads, Math.min(2, threads),
+                this::readEntry,
+                this::writeEntry,
+                e -> {
+                    logger.log(ERROR, "Error", e);
+                    //noinspection CallToPrintStackTrace
+                    e.printStackTrace();
+                },
+                () -> progressHandler.apply("ARC/ARZ", done.incrementAndGet(), total.get()));
+    }
+
+    private void finish(BoundedPipeline<ExtractTask, ExtractOutput> pipeline, List<ArzSource> arzSources) {
+        try {
+            pipeline.finish();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        logger.log(INFO, "Extraction finished");
+        printInfo("%nExtraction finished");
+        for (ArzSource source : arzSources) {
+            printInfo("Records extracted from ARZ '%s': %s", source.arz().getFileName(), source.extracted());
+            logger.log(INFO, "Records extracted from ARZ ''{0}'': {1}", source.arz().getFileName(), source.extracted());
+        }
+        executorMap.shutdown();
+        //the manifest includes the files written by the MapDecompiler
+        waitMessage();
+        if (manifest != null) {
+            try {
+                int deleted = manifest.save();
+                printInfo("Files not modified: %s; Files deleted: %s", unchanged, deleted);
+                logger.log(INFO, "Files not modified: {0}; Files deleted: {1}", unchanged, deleted);
+            } catch (IOException e) {
+                logger.log(ERROR, "Failed to save the manifest", e);
+                printInfo("ERROR: Failed to save the manifest: %s", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Adds the entries of the ARC to the pipeline, waiting while the workers are busy. The total used by the progress
+     * includes the entries of the files opened so far.
+     */
+    private void processArc(Path file, Path dest, BoundedPipeline<ExtractTask, ExtractOutput> pipeline) throws IOException {
+        if (isUnchanged(file)) {
+            return;
+        }
         Resources rec;
         try {
             rec = new Resources(file);
         } catch (IOException e) {
             logger.log(ERROR, "Error", e);
+            if (manifest != null) {
+                manifest.keepSource(file);
+            }
             throw e;
         }
-        for (var entry : rec.getNames()) {
-            arcFutures.add(
-                    CompletableFuture
-                            .supplyAsync(() -> {
-                                try {
-                                    latch.await();
-                                } catch (InterruptedException ignored) {
-                                }
-                                return extractFile(entry, rec, dest);
-                            }, executor)
-                            .thenApply(f -> {
-                                logger.log(DEBUG, "Extracted: {0}", f);
-                                arcDoneFutures.incrementAndGet();
-                                progressHandler.apply("ARC", arcDoneFutures.get(), arcFutures.size());
-                                return f;
-                            }).exceptionally(e -> {
-                                logger.log(ERROR, "Error", e);
-                                //noinspection CallToPrintStackTrace
-                                e.printStackTrace();
-                                arcDoneFutures.incrementAndGet();
-                                progressHandler.apply("ARC", arcDoneFutures.get(), arcFutures.size());
-                                return null;
-                            })
-            );
+        total.addAndGet(rec.getNames().size());
+        try {
+            for (var entry : rec.getNames()) {
+                pipeline.put(new ArcEntry(entry, rec, dest));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Loads the database and adds its records to the pipeline, waiting while the workers are busy.
+     */
+    private void processArz(ArzSource source, BoundedPipeline<ExtractTask, ExtractOutput> pipeline) throws IOException {
+        if (isUnchanged(source.arz())) {
+            return;
+        }
+        Database database;
+        try {
+            database = new Database(new String[]{source.arz().toString()}, false);
+        } catch (RuntimeException e) {
+            if (manifest != null) {
+                manifest.keepSource(source.arz());
+            }
+            throw e;
         }
+        printInfo("Extracting '%s' to '%s'", database.getLoadedDb(), source.dest());
+        logger.log(INFO, "Extracting ''{0}'' to ''{1}''", database.getLoadedDb(), source.dest());
+        total.addAndGet(database.getRecordCount());
+
+        database.processTree(source.arz(), n -> {
+            if (n == null) {
+                return null;
+            }
+            String name = n.getName().toString();
+            try {
+                pipeline.put(new ArzRecord(name, () -> n.isRecordLoaded() ? n.getRecord()
+                        : database.getRecord(Database.normalizeRecordPath(name)), source));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            return null;
+        });
     }
 
     private List<Path> searchFiles(Path path, String ext) throws IOException {
@@ -277,113 +416,135 @@ public class Extract {
         }
     }
 
-    private void extractArz(Path arz, Path dest) throws IOException {
-        Database database = new Database(new String[]{arz.toString()}, false);
-        printInfo("Extracting '%s' to '%s'", database.getLoadedDb(), dest);
-        logger.log(INFO, "Extracting ''{0}'' to ''{1}''", database.getLoadedDb(), dest);
-        AtomicInteger count = new AtomicInteger();
-        List<CompletableFuture<Path>> arzFutures = Collections.synchronizedList(new ArrayList<>());
-
-        database.processTree(arz, n -> {
-            if (n == null) {
-                return null;
+    private ExtractOutput readEntry(ExtractTask task) {
+        try {
+            return switch (task) {
+                case ArcEntry arcEntry -> readArcEntry(arcEntry);
+                case ArzRecord arzRecord -> readArzRecord(arzRecord);
+            };
+        } catch (RuntimeException | Error e) {
+            if (manifest != null) {
+                manifest.failed(switch (task) {
+                    case ArcEntry arcEntry -> arcEntry.resources().getPath();
+                    case ArzRecord arzRecord -> arzRecord.source().arz();
+                });
             }
+            throw e;
+        }
+    }
 
-            arzFutures.add(
-                    CompletableFuture.runAsync(() -> {
-                        try {
-                            Path dir = Path.of(dest.toString(), n.getName().getParent().toString());
-                            if (!dir.toFile().mkdirs()) {
-                                if (!Files.exists(dir)) {
-                                    throw new RuntimeException("Failed to create directory " + dir);
-                                }
-                            }
-                            Path recordFile = Path.of(dest.toString(), n.getName().toString());
-                            if (n.isRecordLoaded()) {
-                                Files.writeString(recordFile, String.join(System.lineSeparator(), n.getRecord().asFile()));
-                            } else {
-                                DbRecord r = database.getRecord(Database.normalizeRecordPath(n.getName().toString()));
-                                Files.writeString(recordFile, String.join(System.lineSeparator(), r.asFile()));
-                            }
-                        } catch (IOException e) {
-                            logger.log(ERROR, "Error", e);
-                        }
-                    }, executorArz).handle((v, e) -> {
-                        count.incrementAndGet();
-                        progressHandler.apply("ARZ", count.get(), database.getRecordCount());
-                        if (e != null) {
-                            logger.log(ERROR, "Error", e);
-                        }
-                        return null;
-                    })
-            );
+    private ExtractOutput readArzRecord(ArzRecord arzRecord) {
+        Path recordFile = Path.of(arzRecord.source().dest().toString(), arzRecord.name());
+        DbRecord r = arzRecord.record().get();
+        byte[] data = DbrWriter.write(r.asFile());
+        ExtractManifest.Entry manifestEntry = manifestEntry(arzRecord.source().arz(), recordFile, data);
+        if (isUnchanged(manifestEntry)) {
             return null;
-        });
-        CompletableFuture.allOf(arzFutures.toArray(new CompletableFuture<?>[0])).thenRun(() -> {
-            printInfo("%nRecords extracted from ARZ '%s': %s", arz.getFileName(), count);
-            logger.log(INFO, "Records extracted from ARZ ''{0}'': {1}", arz.getFileName(), count);
-        }).join();
+        }
+        return new ExtractOutput(recordFile, data, null, arzRecord.source(), manifestEntry);
     }
 
-    private Path extractFile(String resourceName, Resources rec, Path destDir) {
-        Path outfile;
+    /**
+     * Reads the entry and converts it when needed, the data returned is written by {@link #writeEntry(ExtractOutput)}.
+     *
+     * @return null if the entry is not written
+     */
+    private ExtractOutput readArcEntry(ArcEntry arcEntry) {
+        Resources rec = arcEntry.resources();
+        Path destDir = arcEntry.dest();
         try {
-            ResourceFile entry = rec.getFile(resourceName);
-            outfile = destDir.resolve(entry.getPath());
+            ResourceFile entry = rec.getFile(arcEntry.name());
+            Path outfile = destDir.resolve(entry.getPath());
 
             if (outfile.toAbsolutePath().getParent() == null) {
                 throw new IllegalArgumentException("Invalid directory " + outfile);
             }
 
-            if (!outfile.toAbsolutePath().getParent().toFile().mkdirs() && !Files.exists(outfile.toAbsolutePath().getParent())) {
-                throw new RuntimeException("Failed to create directory " + outfile.toAbsolutePath().getParent());
-            }
-
-
             if (entry.getResourceType() == ResourceType.TEXTURE) {
                 logger.log(DEBUG, "[{0}] Texture found: name:''{1}''; type:{2};",
                         Path.of(rec.getPath().toAbsolutePath().getParent().getFileName().toString(), rec.getPath().getFileName().toString()),
                         entry.getName(), ((Texture) entry).getTextureType());
-                extractTexture(entry, destDir);
+                return readTexture(entry, destDir, rec.getPath());
+            }
+
+            byte[] data = entry.getData();
+            ExtractManifest.Entry manifestEntry = manifestEntry(rec.getPath(), outfile, data);
+            if (isUnchanged(manifestEntry)) {
+                return null;
             } else if (entry.getResourceType() == ResourceType.MAP) {
-                Files.write(outfile, entry.getData());
-                if (decompileMap) {
-                    logger.log(INFO, "Map ''{0}'' found. Starting MapDecompiler.", entry.getPath());
-                    printInfo("Map '%s' found. Starting MapDecompiler.", entry.getPath());
-                    executorMap.submit(() -> {
-                        try {
-                            MapDecompiler mapDecompiler = new MapDecompiler(
-                                    outfile,
-                                    Path.of(outfile.toAbsolutePath().getParent().toString(), "source." + outfile.getFileName().toString()),
-                                    mapWrlScaling);
-                            mapDecompiler.extractAll();
-                            logger.log(INFO, "Map ''{0}'' extraction finished.", entry.getPath());
-                            printInfo("Map '%s' extraction finished.", entry.getPath());
-                        } catch (Exception e) {
-                            logger.log(ERROR, "MapDecompiler failed", e);
-                            printInfo("ERROR: MapDecompiler failed: "
-                                    + (e.getMessage() != null ? e.getMessage() : e.getClass()));
-                        }
-                    });
-                }
+                return new ExtractOutput(outfile, data, entry.getPath().toString(), null, manifestEntry);
             } else {
-                Files.write(outfile, entry.getData());
+                return new ExtractOutput(outfile, data, null, null, manifestEntry);
             }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
-        return outfile;
     }
 
-    private void extractTexture(ResourceFile resourceFile, Path destDir) throws IOException {
+    private void writeEntry(ExtractOutput output) {
+        Path outfile = output.file();
+        boolean written = false;
+        try {
+            directoryCache.createParent(outfile);
+            Files.write(outfile, output.data());
+            written = true;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            if (output.manifestEntry() != null && written) {
+                manifest.written(output.manifestEntry());
+            } else if (output.manifestEntry() != null) {
+                manifest.failed(Path.of(output.manifestEntry().source()));
+            }
+        }
+        logger.log(DEBUG, "Extracted: {0}", outfile);
+        if (output.arzSource() != null) {
+            output.arzSource().extracted().incrementAndGet();
+        }
+
+        if (output.mapPath() != null && decompileMap) {
+            logger.log(INFO, "Map ''{0}'' found. Starting MapDecompiler.", output.mapPath());
+            printInfo("Map '%s' found. Starting MapDecompiler.", output.mapPath());
+            executorMap.submit(() -> {
+                try {
+                    Path mapOutputDir = Path.of(outfile.toAbsolutePath().getParent().toString(), "source." + outfile.getFileName().toString());
+                    MapDecompiler mapDecompiler = new MapDecompiler(outfile, mapOutputDir, mapWrlScaling, directoryCache);
+                    mapDecompiler.extractAll();
+                    if (output.manifestEntry() != null) {
+                        try (Stream<Path> files = Files.walk(mapOutputDir)) {
+                            for (Path f : files.filter(Files::isRegularFile).toList()) {
+                                manifest.written(output.manifestEntry(), f);
+                            }
+                        }
+                    }
+                    logger.log(INFO, "Map ''{0}'' extraction finished.", output.mapPath());
+                    printInfo("Map '%s' extraction finished.", output.mapPath());
+                } catch (Exception e) {
+                    if (output.manifestEntry() != null) {
+                        manifest.failed(Path.of(output.manifestEntry().source()));
+                    }
+                    logger.log(ERROR, "MapDecompiler failed", e);
+                    printInfo("ERROR: MapDecompiler failed: "
+                            + (e.getMessage() != null ? e.getMessage() : e.getClass()));
+                }
+            });
+        }
+    }
+
+    private ExtractOutput readTexture(ResourceFile resourceFile, Path destDir, Path arc) throws IOException {
         Path texture;
         byte[] data = new byte[0];
+        ExtractManifest.Entry manifestEntry;
         if (!isTex(resourceFile)) {
-            return;
+            return null;
         }
 
         if (convertTexToPng) {
             texture = Path.of(destDir.toString(), resourceFile.getPath().toString().replaceAll("(?i)(.*)\\.tex$", "$1.png"));
+            manifestEntry = manifestEntry(arc, texture, resourceFile.getData());
+            if (isUnchanged(manifestEntry)) {
+                return null;
+            }
             Texture dds = new TextureConverter((Texture) resourceFile).convert(TextureType.DDS, true);
 
             int[] pixels;
@@ -397,22 +558,55 @@ public class Extract {
             if (pixels != null) {
                 BufferedImage image = new BufferedImage(dds.getWidth(), dds.getHeight(), BufferedImage.TYPE_INT_ARGB);
                 image.setData(Raster.createRaster(image.getSampleModel(), new DataBufferInt(pixels, pixels.length, 0), new Point()));
-                ImageIO.write(image, "png", texture.toFile());
-                return;
+                ByteArrayOutputStream png = new ByteArrayOutputStream();
+                ImageIO.write(image, "png", png);
+                return new ExtractOutput(texture, png.toByteArray(), null, null, manifestEntry);
             }
         } else if (convertTexToDds) {
             texture = Path.of(destDir.toString(), resourceFile.getPath().toString().replaceAll("(?i)(.*)\\.tex$", "$1.dds"));
+            manifestEntry = manifestEntry(arc, texture, resourceFile.getData());
+            if (isUnchanged(manifestEntry)) {
+                return null;
+            }
             data = new TextureConverter((Texture) resourceFile).convert(TextureType.DDS, convertTexIgnoreMip).getData();
         } else {
             texture = Path.of(destDir.toString(), resourceFile.getPath().toString());
             data = resourceFile.getData();
+            manifestEntry = manifestEntry(arc, texture, data);
+            if (isUnchanged(manifestEntry)) {
+                return null;
+            }
         }
 
-        Files.write(texture, data);
+        return new ExtractOutput(texture, data, null, null, manifestEntry);
     }
 
     private boolean isTex(ResourceFile entry) {
         return entry.getResourceType() == ResourceType.TEXTURE
                 && EnumSet.of(TextureType.TEXV1, TextureType.TEXV2).contains(((Texture) entry).getTextureType());
     }
+
+    private sealed interface ExtractTask permits ArcEntry, ArzRecord {
+    }
+
+    private record ArcEntry(String name, Resources resources, Path dest) implements ExtractTask {
+    }
+
+    private record ArzRecord(String name, Supplier<DbRecord> record, ArzSource source) implements ExtractTask {
+    }
+
+    /**
+     * @param extracted number of records written
+     */
+    private record ArzSource(Path arz, Path dest, AtomicInteger extracted) {
+    }
+
+    /**
+     * @param mapPath       path of the map in the ARC, when the entry is a map to decompile after written
+     * @param arzSource     the database of a record
+     * @param manifestEntry recorded in the manifest after written, null if not in incremental mode
+     */
+    private record ExtractOutput(Path file, byte[] data, String mapPath, ArzSource arzSource,
+                                 ExtractManifest.Entry manifestEntry) {
+    }
 }
@@ -0,0 +1,280 @@
+/*
+ * Copyright (C) 2025 Emerson Pinter - All Rights Reserved
+ */
+
+/*    This file is part of TQ Extract.
+
+    TQ Extract is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    TQ Extract is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with TQ Extract.  If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package dev.pinter.tqextract;
+
+import br.com.pinter.tqrespec.logging.Log;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.INFO;
+import static java.lang.System.Logger.Level.WARNING;
+
+/**
+ * Files written by a previous extraction to the output directory, used by the incremental mode. For each ARC and ARZ
+ * the manifest keeps the size and modification time, and for each file extracted the source, the size and the
+ * checksum of the entry. A source not modified since the last extraction is skipped, and an entry with the same
+ * checksum is not written again. The files extracted from entries that don't exist anymore are deleted when the
+ * manifest is saved.
+ * <p>
+ * An entry is recorded only after its file is written. When an entry of a source fails, the source is read again by
+ * the next extraction, and the files extracted from it before are kept.
+ */
+class ExtractManifest {
+    private static final System.Logger logger = Log.getLogger(ExtractManifest.class);
+    static final String FILENAME = ".tqextract-manifest";
+    private static final String HEADER = "tqextract-manifest 2";
+
+    private final Path outputDir;
+    private final String options;
+    private final Map<String, Source> previousSources = new HashMap<>();
+    private final Map<String, Entry> previousEntries = new HashMap<>();
+    private final Map<String, List<Entry>> previousDerived = new HashMap<>();
+    private final Map<String, Source> sources = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<String> failedSources = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Loads the manifest found in the output directory. The manifest is ignored if the extraction options changed, so
+     * all files are extracted again.
+     *
+     * @param outputDir the output directory of the extraction
+     * @param options   the options changing the files written, like the texture conversion
+     */
+    ExtractManifest(Path outputDir, String options) throws IOException {
+        this.outputDir = outputDir.toAbsolutePath().normalize();
+        this.options = options;
+
+        Path file = this.outputDir.resolve(FILENAME);
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.size() < 2 || !lines.get(0).equals(HEADER)) {
+            logger.log(WARNING, "Invalid manifest ''{0}'', all files will be extracted", file);
+            return;
+        }
+        boolean sameOptions = lines.get(1).equals("options\t" + options);
+        if (!sameOptions) {
+            //the previous sources and entries never match, but the files not extracted again are still deleted
+            logger.log(INFO, "Extraction options changed, all files will be extracted");
+        }
+
+        for (String line : lines.subList(2, lines.size())) {
+            String[] f = line.split("\t", -1);
+            if (f[0].equals("S") && f.length == 4) {
+                Source s = new Source(f[1], Long.parseLong(f[2]), sameOptions ? Long.parseLong(f[3]) : -1);
+                previousSources.put(s.path(), s);
+            } else if (f[0].equals("E") && f.length == 6) {
+                Entry e = new Entry(f[1], f[2], Long.parseLong(f[3]), sameOptions ? Long.parseUnsignedLong(f[4], 16) : -1,
+                        f[5].isEmpty() ? null : f[5]);
+                previousEntries.put(e.output(), e);
+                if (e.parent() != null) {
+                    previousDerived.computeIfAbsent(e.parent(), k -> new ArrayList<>()).add(e);
+                }
+            } else {
+                throw new IOException("Invalid manifest line: " + line);
+            }
+        }
+        logger.log(INFO, "Manifest loaded with {0} sources and {1} files", previousSources.size(), previousEntries.size());
+    }
+
+    /**
+     * Compares the source with the previous extraction. An unchanged source keeps all the files extracted from it
+     * before, and nothing needs to be read.
+     *
+     * @return true if the source was not modified since the last extraction
+     */
+    boolean checkSource(Path source) throws IOException {
+        String path = source.toAbsolutePath().normalize().toString();
+        BasicFileAttributes attrs = Files.readAttributes(source, BasicFileAttributes.class);
+        Source current = new Source(path, attrs.size(), attrs.lastModifiedTime().toMillis());
+        sources.put(path, current);
+
+        if (!current.equals(previousSources.get(path))) {
+            return false;
+        }
+        previousEntries.values().stream().filter(e -> e.source().equals(path)).forEach(e -> entries.put(e.output(), e));
+        return true;
+    }
+
+    /**
+     * The source was checked but could not be read, the files extracted from it before are kept.
+     */
+    void keepSource(Path source) {
+        sources.remove(source.toAbsolutePath().normalize().toString());
+    }
+
+    /**
+     * An entry of the source failed to be read or written. The files extracted from the source before are kept, and
+     * the source is read again by the next extraction.
+     */
+    void failed(Path source) {
+        failedSources.add(source.toAbsolutePath().normalize().toString());
+    }
+
+    /**
+     * Creates the entry to compare with the previous extraction, and to record after the file is written.
+     *
+     * @param source the ARC or ARZ, must be checked first
+     * @param output the file extracted
+     * @param data   the data of the entry in the source, before any conversion
+     */
+    Entry entry(Path source, Path output, byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return new Entry(source.toAbsolutePath().normalize().toString(), relativize(output), data.length,
+                crc.getValue(), null);
+    }
+
+    /**
+     * Compares the entry with the previous extraction. An unchanged entry is recorded with the files derived from it,
+     * and nothing needs to be written.
+     *
+     * @return true if the entry didn't change since the last extraction and the file still exists
+     */
+    boolean isUnchanged(Entry entry) {
+        if (!entry.equals(previousEntries.get(entry.output())) || !Files.exists(outputDir.resolve(entry.output()))) {
+            return false;
+        }
+        entries.put(entry.output(), entry);
+        for (Entry derived : previousDerived.getOrDefault(entry.output(), List.of())) {
+            entries.put(derived.output(), derived);
+        }
+        return true;
+    }
+
+    /**
+     * Records the entry, must be called after the file is written.
+     */
+    void written(Entry entry) {
+        entries.put(entry.output(), entry);
+    }
+
+    /**
+     * Records a file created from the entry, like the files written by the MapDecompiler. The derived files are kept
+     * while the entry doesn't change, and deleted with the entry.
+     *
+     * @param entry the entry already written
+     * @param file  the file created
+     */
+    void written(Entry entry, Path file) throws IOException {
+        Entry derived = new Entry(entry.source(), relativize(file), Files.size(file), -1, entry.output());
+        entries.put(derived.output(), derived);
+    }
+
+    /**
+     * Deletes the files extracted before from entries not found anymore, and writes the new manifest. The sources
+     * not checked by this extraction keep their files, unless the source was removed.
+     *
+     * @return the number of files deleted
+     */
+    int save() throws IOException {
+        int deleted = 0;
+        Set<String> checked = Set.copyOf(sources.keySet());
+        for (Entry e : previousEntries.values()) {
+            if (entries.containsKey(e.output())) {
+                continue;
+            }
+            Source previousSource = previousSources.get(e.source());
+            boolean notChecked = !checked.contains(e.source()) && previousSource != null
+                    && Files.exists(Path.of(e.source()));
+            if (notChecked || failedSources.contains(e.source())) {
+                //not extracted this time, or the entry may still exist in the source
+                if (notChecked) {
+                    sources.putIfAbsent(e.source(), previousSource);
+                }
+                entries.put(e.output(), e);
+                continue;
+            }
+            Path output = outputDir.resolve(e.output());
+            if (Files.deleteIfExists(output)) {
+                deleted++;
+                logger.log(DEBUG, "Deleted: {0}", e.output());
+                deleteEmptyParents(output);
+            }
+        }
+        if (deleted > 0) {
+            logger.log(INFO, "{0} files deleted, the entries were removed from the sources", deleted);
+        }
+        for (String failed : failedSources) {
+            //never matches, so the source is read again
+            sources.computeIfPresent(failed, (k, v) -> new Source(k, -1, -1));
+        }
+
+        Path file = outputDir.resolve(FILENAME);
+        Path tmp = outputDir.resolve(FILENAME + ".tmp");
+        Files.createDirectories(outputDir);
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            writer.write(HEADER + "\n");
+            writer.write("options\t" + options + "\n");
+            for (Source s : sources.values()) {
+                writer.write(String.join("\t", "S", s.path(), String.valueOf(s.size()), String.valueOf(s.lastModified())));
+                writer.write("\n");
+            }
+            for (Entry e : entries.values()) {
+                writer.write(String.join("\t", "E", e.source(), e.output(), String.valueOf(e.size()),
+                        Long.toHexString(e.checksum()), e.parent() != null ? e.parent() : ""));
+                writer.write("\n");
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.log(INFO, "Manifest saved with {0} sources and {1} files", sources.size(), entries.size());
+        return deleted;
+    }
+
+    private void deleteEmptyParents(Path file) throws IOException {
+        for (Path dir = file.getParent(); dir != null && dir.startsWith(outputDir) && !dir.equals(outputDir); dir = dir.getParent()) {
+            try {
+                Files.delete(dir);
+            } catch (DirectoryNotEmptyException e) {
+                return;
+            }
+        }
+    }
+
+    private String relativize(Path output) {
+        return outputDir.relativize(output.toAbsolutePath().normalize()).toString();
+    }
+
+    private record Source(String path, long size, long lastModified) {
+    }
+
+    /**
+     * @param parent the output of the entry this file was created from, or null
+     */
+    record Entry(String source, String output, long size, long checksum, String parent) {
+    }
+}
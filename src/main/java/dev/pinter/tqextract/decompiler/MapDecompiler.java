@@ -22,6 +22,7 @@ package dev.pinter.tqextract.decompiler;
 
 import br.com.pinter.tqdatabase.data.RandomAccessFileLE;
 import br.com.pinter.tqrespec.logging.Log;
+import dev.pinter.tqextract.DirectoryCache;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
@@ -59,6 +60,7 @@ public class MapDecompiler {
     private final Path worldMap;
     private final Path outputDir;
     private final float wrlTgaScaling;
+    private final DirectoryCache directoryCache;
 
     /**
      * Creates an instance to decompile de map to the outputdir.
@@ -68,15 +70,31 @@ public class MapDecompiler {
      * @param wrlTgaScaling Scaling of images written to WRL, used in the layout mode of the Editor.
      *                      1 equals to 1/4 of the image, 2 is half, 4 is full size. Bigger images will
      *                      make the editor crash.
+     * @param directoryCache Directories already created, shared with other writers to the same outputdir
      * @throws IOException if I/O error happens
      */
-    public MapDecompiler(Path worldMap, Path outputDir, int wrlTgaScaling) throws IOException {
+    public MapDecompiler(Path worldMap, Path outputDir, int wrlTgaScaling, DirectoryCache directoryCache) throws IOException {
         this.worldMap = worldMap;
         this.outputDir = outputDir;
         this.wrlTgaScaling = 0.25f * wrlTgaScaling;
+        this.directoryCache = directoryCache;
         this.mapBlocks = searchBlocks();
     }
 
+    /**
+     * Creates an instance to decompile de map to the outputdir.
+     *
+     * @param worldMap      Map file
+     * @param outputDir     Directory to write the files
+     * @param wrlTgaScaling Scaling of images written to WRL, used in the layout mode of the Editor.
+     *                      1 equals to 1/4 of the image, 2 is half, 4 is full size. Bigger images will
+     *                      make the editor crash.
+     * @throws IOException if I/O error happens
+     */
+    public MapDecompiler(Path worldMap, Path outputDir, int wrlTgaScaling) throws IOException {
+        this(worldMap, outputDir, wrlTgaScaling, new DirectoryCache());
+    }
+
     /**
      * Creates an instance to decompile de map to the outputdir.
      *
@@ -105,9 +123,7 @@ public class MapDecompiler {
 
     public void createSd() throws IOException {
         Path sdPath = Path.of(outputDir.toString(), "Levels", "World", "world01.sd");
-        if (sdPath.getParent().toFile().mkdirs() && !Files.exists(sdPath.getParent())) {
-            throw new IOException("Erro creating destination directory");
-        }
+        directoryCache.createParent(sdPath);
 
         MapBlock sector = mapBlocks.get(SECTOR.value());
 
@@ -278,9 +294,7 @@ public class MapDecompiler {
 
     private void createWorldWrl(List<MapLevel> levels) throws IOException {
         Path wrlPath = Path.of(outputDir.toString(), "Levels", "World", "world01.wrl");
-        if (!wrlPath.getParent().toFile().mkdirs() && !Files.exists(wrlPath.getParent())) {
-            throw new IOException("Error creating directory " + wrlPath.getParent());
-        }
+        directoryCache.createParent(wrlPath);
         //write magic with version 6, legacy map versions are below 5
         Files.write(wrlPath, new byte[]{0x57, 0x52, 0x4C, 0x06},
                 StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
@@ -392,9 +406,7 @@ public class MapDecompiler {
                 filename = filename.replaceAll("(?i)(.*)\\.lvl", "$1.tga");
                 Path levelFilePath = Path.of(filename.replace("\\", File.separator).replace("/", File.separator));
                 Path dest = Path.of(outputDir.toString(), levelFilePath.getParent().toString());
-                if (dest.toFile().mkdirs() && !Files.exists(dest)) {
-                    throw new IOException("Erro creating destination directory");
-                }
+                directoryCache.createDirectories(dest);
                 logger.log(INFO, "[Block {0}] size:{1}; offset:{2}; end:{3}}; file:{4}",
                         MINIMAP,
                         "% 10d".formatted(tga.srcLength()),
@@ -418,9 +430,7 @@ public class MapDecompiler {
             Path levelFilePath = Path.of(lvl.fileName().replace("\\", File.separator).replace("/", File.separator));
 
             Path dest = Path.of(outputDir.toString(), levelFilePath.getParent().toString());
-            if (dest.toFile().mkdirs() && !Files.exists(dest)) {
-                throw new IOException("Erro creating destination directory");
-            }
+            directoryCache.createDirectories(dest);
 
             createRlv(dest, levelFilePath, lvl);
             createLvl(dest, levelFilePath, lvl);
@@ -58,12 +58,13 @@ module br.com.pinter.tqrespec {
     opens br.com.pinter.tqrespec.core to com.google.guice, javafx.fxml;
     opens br.com.pinter.tqrespec.gui to com.google.guice, javafx.fxml;
     opens br.com.pinter.tqrespec.save to com.google.guice, javafx.fxml;
-    opens br.com.pinter.tqrespec.save.player to com.google.guice, javafx.fxml;
+    opens br.com.pinter.tqrespec.save.player to com.google.guice, javafx.fxml, com.fasterxml.jackson.databind;
     opens br.com.pinter.tqrespec.save.stash to com.google.guice, javafx.fxml;
     opens br.com.pinter.tqrespec.tqdata to com.google.guice, javafx.fxml;
     opens br.com.pinter.tqrespec.util to com.google.guice, javafx.fxml;
     exports br.com.pinter.tqrespec.save.exporter;
     opens br.com.pinter.tqrespec.save.exporter to com.google.guice, javafx.fxml;
+    opens br.com.pinter.tqrespec.cli to com.google.guice, info.picocli;
     opens dev.pinter.tqextract to com.google.guice, info.picocli;
     opens dev.pinter.tqextract.decompiler to com.google.guice;
 
@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+package br.com.pinter.tqrespec.save;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Crc32Test {
+    @Test
+    void of_Should_matchStashChecksum() throws IOException {
+        ByteBuffer stash = ByteBuffer.wrap(Files.readAllBytes(Path.of("src/test/resources/_savegame/winsys.dxb")))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        int stored = stash.getInt(0);
+        stash.putInt(0, 0);
+
+        assertEquals(stored, Crc32.of(stash));
+        assertEquals(0, stash.position());
+
+        Crc32 crc32 = new Crc32();
+        crc32.update(stash.slice(0, 1000));
+        crc32.update(stash.slice(1000, stash.capacity() - 1000));
+        assertEquals(stored, crc32.getValue());
+    }
+}
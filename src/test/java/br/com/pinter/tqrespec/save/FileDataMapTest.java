@@ -7,7 +7,13 @@ package br.com.pinter.tqrespec.save;
 import com.google.common.collect.ImmutableListMultimap;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FileDataMapTest {
     @Test
@@ -31,4 +37,126 @@ class FileDataMapTest {
 
         assertEquals(2, dataMap.getInt(variable));
     }
+
+    @Test
+    void copy_Should_keepChangesIndependent() {
+        FileDataMap dataMap = new FileDataMap();
+        VariableInfo variable = VariableInfo.builder()
+                .name("money")
+                .keyOffset(100)
+                .valOffset(109)
+                .blockOffset(10)
+                .variableType(VariableType.INTEGER)
+                .value(3)
+                .build();
+
+        BlockInfo blockInfo = new BlockInfo();
+        blockInfo.setStart(10);
+        blockInfo.setVariables(ImmutableListMultimap.of(variable.getName(), variable));
+        dataMap.getBlockInfo().put(blockInfo.getStart(), blockInfo);
+        dataMap.getVariableLocation().put(variable.getName(), new ArrayList<>(List.of(blockInfo.getStart())));
+        dataMap.setInt(variable, 5);
+
+        FileDataMap copy = dataMap.copy();
+        copy.setInt(variable, 7);
+        copy.getVariableLocation().get(variable.getName()).add(20);
+
+        assertEquals(5, dataMap.getInt(variable));
+        assertEquals(7, copy.getInt(variable));
+        assertEquals(1, dataMap.getVariableLocation().get(variable.getName()).size());
+        assertEquals(dataMap.getPlatform(), copy.getPlatform());
+    }
+
+    @Test
+    void rebase_Should_moveVariablesAfterChangedValue() {
+        FileDataMap dataMap = blockFixture();
+        dataMap.setString("myPlayerName", "abcdef");
+
+        assertTrue(dataMap.canRebase());
+        assertTrue(dataMap.rebase());
+
+        BlockInfo block = dataMap.getBlockInfo().get(10);
+        assertEquals(63, block.getEnd());
+        assertEquals(54, block.getSize());
+        VariableInfo name = block.getVariables().get("myPlayerName").getFirst();
+        assertEquals("abcdef", name.getValue());
+        assertEquals(30, name.getValOffset());
+        VariableInfo money = block.getVariables().get("money").getFirst();
+        assertEquals(40, money.getKeyOffset());
+        assertEquals(49, money.getValOffset());
+        assertEquals(List.of(10), dataMap.getVariableLocation().get("money"));
+        assertFalse(dataMap.changesKeySet().iterator().hasNext());
+    }
+
+    @Test
+    void rebase_Should_keepChangesWhenVariableIsRemoved() {
+        FileDataMap dataMap = blockFixture();
+        dataMap.setString("myPlayerName", "abcdef");
+        dataMap.removeVariable(dataMap.getBlockInfo().get(10).getVariables().get("money").getFirst());
+
+        assertFalse(dataMap.canRebase());
+        assertFalse(dataMap.rebase());
+
+        assertEquals(2, dataMap.changesKeySet().size());
+        assertEquals(46, dataMap.getBlockInfo().get(10).getVariables().get("money").getFirst().getValOffset());
+    }
+
+    @Test
+    void batch_Should_storeLastValueOfEachVariableOnCommit() {
+        FileDataMap dataMap = blockFixture();
+        FileDataMap.Batch batch = dataMap.batch()
+                .setInt("money", 5)
+                .setString("myPlayerName", "abcdef")
+                .setInt("money", 7);
+
+        assertEquals(2, batch.size());
+        assertEquals(3, dataMap.getInt("money"));
+
+        batch.commit();
+
+        assertEquals(7, dataMap.getInt("money"));
+        assertEquals(2, dataMap.changesKeySet().size());
+        assertEquals(0, batch.size());
+    }
+
+    @Test
+    void batch_Should_notChangeMapWhenValidationFails() {
+        FileDataMap dataMap = blockFixture();
+        FileDataMap.Batch batch = dataMap.batch().setInt("money", 5);
+
+        assertThrows(NumberFormatException.class, () -> batch.setInt("myPlayerName", 1));
+        assertEquals(3, dataMap.getInt("money"));
+        assertTrue(dataMap.changesKeySet().isEmpty());
+    }
+
+    private FileDataMap blockFixture() {
+        VariableInfo name = VariableInfo.builder()
+                .name("myPlayerName")
+                .keyOffset(14)
+                .valOffset(30)
+                .blockOffset(10)
+                .variableType(VariableType.STRING)
+                .value("abc")
+                .build();
+        VariableInfo money = VariableInfo.builder()
+                .name("money")
+                .keyOffset(37)
+                .valOffset(46)
+                .blockOffset(10)
+                .variableType(VariableType.INTEGER)
+                .value(3)
+                .build();
+
+        BlockInfo blockInfo = new BlockInfo();
+        blockInfo.setStart(10);
+        blockInfo.setEnd(60);
+        blockInfo.setSize(51);
+        blockInfo.setVariables(ImmutableListMultimap.of(name.getName(), name, money.getName(), money));
+
+        FileDataMap dataMap = new FileDataMap();
+        dataMap.getBlockInfo().put(blockInfo.getStart(), blockInfo);
+        dataMap.getVariableLocation().put(name.getName(), new ArrayList<>(List.of(blockInfo.getStart())));
+        dataMap.getVariableLocation().put(money.getName(), new ArrayList<>(List.of(blockInfo.getStart())));
+        return dataMap;
+    }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+package br.com.pinter.tqrespec.save;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OffsetShiftIndexTest {
+    @Test
+    void shift_Should_sumChangesBeforeOffset() {
+        OffsetShiftIndex index = new OffsetShiftIndex();
+        index.put(10, 4);
+        index.put(100, -2);
+        index.put(5000, 7);
+
+        assertEquals(0, index.shift(10));
+        assertEquals(4, index.shift(11));
+        assertEquals(2, index.shift(101));
+        assertEquals(104, index.shiftedOffset(100));
+        assertEquals(10009, index.shiftedOffset(10000));
+
+        index.put(100, 3);
+        index.remove(10);
+        assertEquals(3, index.shift(101));
+        assertEquals(10, index.shift(5001));
+    }
+
+    @Test
+    void shift_Should_matchSumOfAllChanges() {
+        Random random = new Random(1);
+        OffsetShiftIndex index = new OffsetShiftIndex();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 2000; i++) {
+            int offset = random.nextInt(200000);
+            int delta = random.nextInt(41) - 20;
+            index.put(offset, delta);
+            expected.put(offset, delta);
+
+            int query = random.nextInt(210000);
+            assertEquals(expected.headMap(query).values().stream().mapToInt(Integer::intValue).sum(), index.shift(query));
+        }
+    }
+}
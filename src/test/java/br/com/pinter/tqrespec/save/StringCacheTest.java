@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+package br.com.pinter.tqrespec.save;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class StringCacheTest {
+    @Test
+    void get_Should_reuseDecodedStrings() {
+        ByteBuffer data = ByteBuffer.wrap("itemNamexitemNamerecords/xpack/items/a.dbr".getBytes(StandardCharsets.UTF_8));
+        StringCache cache = new StringCache(16, 16);
+
+        String first = cache.get(data, 0, 8);
+        assertEquals("itemName", first);
+        assertSame(first, cache.get(data, 9, 8));
+        assertEquals("xitemNam", cache.get(data, 8, 8));
+        assertEquals(0, data.position());
+
+        String path = cache.get(data, 17, 25);
+        assertEquals("records/xpack/items/a.dbr", path);
+        assertNotSame(path, cache.get(data, 17, 25));
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+package br.com.pinter.tqrespec.save;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VariableTableTest {
+    private static VariableInfo temp(int keyOffset, float value, String alias) {
+        return VariableInfo.builder().name("temp").alias(alias).keyOffset(keyOffset).blockOffset(10)
+                .variableType(VariableType.FLOAT).value(value).build();
+    }
+
+    @Test
+    void of_Should_restoreTheSameVariables() {
+        ListMultimap<String, VariableInfo> variables = ArrayListMultimap.create();
+        variables.put("temp", temp(20, 50.5f, "str"));
+        variables.put("temp", temp(40, 60f, null));
+        variables.put("myPlayerName", VariableInfo.builder().name("myPlayerName").keyOffset(60).blockOffset(10)
+                .variableType(VariableType.STRING_UTF_16_LE).value("name").build());
+        variables.put("itemUid", VariableInfo.builder().name("itemUid").keyOffset(90).blockOffset(10)
+                .variableType(VariableType.UID).value(new byte[16]).build());
+
+        VariableTable table = VariableTable.of(variables);
+
+        assertEquals(variables, table.toMultimap());
+        assertEquals(variables.get("temp"), table.get("temp"));
+        assertEquals(variables.get("temp").subList(0, 1), table.getByAlias("str"));
+        assertEquals(variables.get("temp").subList(1, 2), table.getByAlias("temp"));
+        assertTrue(table.contains("itemUid"));
+        assertFalse(table.contains("money"));
+        assertTrue(table.get("money").isEmpty());
+    }
+
+    @Test
+    void equals_Should_compareFloatsLikeFloatEquals() {
+        assertEquals(temp(20, Float.intBitsToFloat(0x7fc00000), null), temp(20, Float.intBitsToFloat(0x7fc00001), null));
+        assertEquals(temp(20, Float.NaN, null).hashCode(), temp(20, Float.intBitsToFloat(0x7fc00001), null).hashCode());
+        assertNotEquals(temp(20, 0f, null), temp(20, -0f, null));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+package br.com.pinter.tqrespec.save.player;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class BackupZipWriterTest {
+    @TempDir
+    Path tempDir;
+
+    private Path createPlayerDir() throws IOException {
+        Path playerDir = Files.createDirectories(tempDir.resolve("_hero"));
+        Random random = new Random(1);
+        byte[] noise = new byte[20000];
+        random.nextBytes(noise);
+
+        Files.write(playerDir.resolve("Player.chr"), "character".repeat(1000).getBytes());
+        Files.write(playerDir.resolve("winsys.dxb"), noise);
+        Files.write(playerDir.resolve("settings.txt"), "settings".getBytes());
+        Path levels = Files.createDirectories(playerDir.resolve("Levels_World_World01.map"));
+        Files.write(levels.resolve("Quests.myw"), "quests".repeat(500).getBytes());
+        Files.write(levels.resolve("empty.dat"), new byte[0]);
+        Files.createDirectories(levels.resolve("Empty"));
+        Path backup = Files.createDirectories(playerDir.resolve("backup_1"));
+        Files.write(backup.resolve("Player.chr"), "old".getBytes());
+        return playerDir;
+    }
+
+    private List<String> names(ZipFile zip) {
+        return Collections.list(zip.entries()).stream().map(ZipEntry::getName).sorted().toList();
+    }
+
+    @Test
+    void write_Should_addCharacterAndLevelsFiles() throws IOException {
+        Path playerDir = createPlayerDir();
+        Path zipFile = tempDir.resolve("hero.zip");
+        new BackupZipWriter(playerDir.resolve("Player.chr"), false, Deflater.DEFAULT_COMPRESSION, 4).write(zipFile);
+
+        try (ZipFile zip = new ZipFile(zipFile.toFile())) {
+            assertEquals(List.of("_hero/", "_hero/Levels_World_World01.map/", "_hero/Levels_World_World01.map/Empty/",
+                    "_hero/Levels_World_World01.map/Quests.myw", "_hero/Levels_World_World01.map/empty.dat",
+                    "_hero/Player.chr", "_hero/winsys.dxb"), names(zip));
+            for (String name : List.of("Player.chr", "winsys.dxb", "Levels_World_World01.map/Quests.myw")) {
+                ZipEntry entry = zip.getEntry("_hero/" + name);
+                assertArrayEquals(Files.readAllBytes(playerDir.resolve(name)), zip.getInputStream(entry).readAllBytes());
+                assertEquals(Files.getLastModifiedTime(playerDir.resolve(name)).toMillis() / 1000,
+                        entry.getLastModifiedTime().toMillis() / 1000);
+            }
+            assertEquals(ZipEntry.DEFLATED, zip.getEntry("_hero/Player.chr").getMethod());
+            //random data doesn't compress
+            assertEquals(ZipEntry.STORED, zip.getEntry("_hero/winsys.dxb").getMethod());
+        }
+        assertFalse(Files.exists(tempDir.resolve("hero.zip.tmp")));
+    }
+
+    @Test
+    void write_Should_addAllFilesExceptBackups_When_fullBackup() throws IOException {
+        Path playerDir = createPlayerDir();
+        Path zipFile = tempDir.resolve("hero-fullbackup.zip");
+        new BackupZipWriter(playerDir.resolve("Player.chr"), true, 0, 1).write(zipFile);
+
+        try (ZipFile zip = new ZipFile(zipFile.toFile())) {
+            assertEquals(List.of("_hero/", "_hero/Levels_World_World01.map/", "_hero/Levels_World_World01.map/Empty/",
+                    "_hero/Levels_World_World01.map/Quests.myw", "_hero/Levels_World_World01.map/empty.dat",
+                    "_hero/Player.chr", "_hero/settings.txt", "_hero/winsys.dxb"), names(zip));
+            assertEquals(ZipEntry.STORED, zip.getEntry("_hero/Player.chr").getMethod());
+            assertArrayEquals("settings".getBytes(), zip.getInputStream(zip.getEntry("_hero/settings.txt")).readAllBytes());
+        }
+    }
+}
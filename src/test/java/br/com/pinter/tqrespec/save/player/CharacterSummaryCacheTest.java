@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+package br.com.pinter.tqrespec.save.player;
+
+import br.com.pinter.tqrespec.save.SaveLocation;
+import br.com.pinter.tqrespec.tqdata.GameVersion;
+import br.com.pinter.tqrespec.tqdata.PlayerCharacter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CharacterSummaryCacheTest {
+    @TempDir
+    private Path tempDir;
+
+    private static HeaderInfo headerInfo(GameVersion headerVersion, int playerVersion) {
+        HeaderInfo headerInfo = new HeaderInfo();
+        headerInfo.setHeaderVersion(headerVersion);
+        headerInfo.setPlayerVersion(playerVersion);
+        return headerInfo;
+    }
+
+    private Path playerChr(String name) throws IOException {
+        Path playerChr = tempDir.resolve("_" + name).resolve("Player.chr");
+        Files.createDirectories(playerChr.getParent());
+        Files.write(playerChr, new byte[]{1, 2, 3});
+        return playerChr;
+    }
+
+    private static BasicFileAttributes attrs(Path playerChr) throws IOException {
+        return Files.readAttributes(playerChr, BasicFileAttributes.class);
+    }
+
+    private static PlayerCharacter playerCharacter(String name) {
+        PlayerCharacter playerCharacter = new PlayerCharacter();
+        playerCharacter.setName(name);
+        playerCharacter.setMasteries(new ArrayList<>());
+        return playerCharacter;
+    }
+
+    private CharacterSummaryCache cache() {
+        CharacterSummaryCache cache = new CharacterSummaryCache();
+        cache.setCacheFile(tempDir.resolve("cache").resolve("characters.json"));
+        cache.load();
+        return cache;
+    }
+
+    @Test
+    void get_Should_returnSummaryUntilSavegameChanges() throws IOException {
+        Path playerChr = playerChr("teste");
+
+        PlayerCharacter playerCharacter = new PlayerCharacter();
+        playerCharacter.setName("teste");
+        playerCharacter.setLevel(75);
+        playerCharacter.setGender(Gender.FEMALE);
+        playerCharacter.setLocation(SaveLocation.USER);
+        playerCharacter.setExperience(160547234);
+        playerCharacter.setMasteries(new ArrayList<>());
+
+        CharacterSummaryCache cache = cache();
+        cache.put(playerChr, attrs(playerChr), playerCharacter, headerInfo(GameVersion.TQAE, 5));
+        cache.save();
+
+        CharacterSummaryCache reloaded = cache();
+        PlayerCharacter cached = reloaded.get(playerChr, attrs(playerChr));
+        assertNotNull(cached);
+        assertEquals("teste", cached.getName());
+        assertEquals(75, cached.getLevel());
+        assertEquals(Gender.FEMALE, cached.getGender());
+        assertEquals(SaveLocation.USER, cached.getLocation());
+        assertEquals(160547234, cached.getExperience());
+        assertEquals(playerChr.getParent(), cached.getPath());
+
+        Files.setLastModifiedTime(playerChr, FileTime.fromMillis(Files.getLastModifiedTime(playerChr).toMillis() - 60000));
+        assertNull(reloaded.get(playerChr, attrs(playerChr)));
+
+        cache.put(playerChr, attrs(playerChr), playerCharacter, headerInfo(GameVersion.TQAE, 5));
+        cache.retain(List.of());
+        assertNull(cache.get(playerChr, attrs(playerChr)));
+    }
+
+    @Test
+    void get_Should_returnNull_When_savegameChangedWhileParsed() throws IOException {
+        Path playerChr = playerChr("teste");
+        BasicFileAttributes beforeParse = attrs(playerChr);
+        Files.write(playerChr, new byte[]{1, 2, 3, 4});
+
+        CharacterSummaryCache cache = cache();
+        cache.put(playerChr, beforeParse, playerCharacter("teste"), headerInfo(GameVersion.TQAE, 5));
+        assertNull(cache.get(playerChr, attrs(playerChr)));
+    }
+
+    @Test
+    void load_Should_discardEntries_When_versionsNotSupported() throws IOException {
+        Path supported = playerChr("supported");
+        Path unknownHeader = playerChr("unknownHeader");
+        Path oldPlayer = playerChr("oldPlayer");
+
+        CharacterSummaryCache cache = cache();
+        cache.put(supported, attrs(supported), playerCharacter("supported"), headerInfo(GameVersion.TQLE, 8));
+        cache.put(unknownHeader, attrs(unknownHeader), playerCharacter("unknownHeader"), headerInfo(GameVersion.TQ, 8));
+        cache.put(oldPlayer, attrs(oldPlayer), playerCharacter("oldPlayer"), headerInfo(GameVersion.TQIT, 4));
+        cache.save();
+
+        CharacterSummaryCache reloaded = cache();
+        assertNotNull(reloaded.get(supported, attrs(supported)));
+        assertNull(reloaded.get(unknownHeader, attrs(unknownHeader)));
+        assertNull(reloaded.get(oldPlayer, attrs(oldPlayer)));
+    }
+
+    @Test
+    void load_Should_discardCache_When_cacheVersionChanged() throws IOException {
+        Path playerChr = playerChr("teste");
+        CharacterSummaryCache cache = cache();
+        cache.put(playerChr, attrs(playerChr), playerCharacter("teste"), headerInfo(GameVersion.TQAE, 5));
+        cache.save();
+
+        Path cacheFile = tempDir.resolve("cache").resolve("characters.json");
+        String json = Files.readString(cacheFile, StandardCharsets.UTF_8);
+        String version = "\"version\":" + CharacterSummaryCache.CACHE_VERSION;
+        assertTrue(json.contains(version));
+        assertNotNull(cache().get(playerChr, attrs(playerChr)));
+        Files.writeString(cacheFile, json.replace(version, "\"version\":" + (CharacterSummaryCache.CACHE_VERSION + 1)),
+                StandardCharsets.UTF_8);
+        assertNull(cache().get(playerChr, attrs(playerChr)));
+    }
+}
@@ -21,10 +21,12 @@
 package br.com.pinter.tqrespec.save.player;
 
 import br.com.pinter.tqrespec.logging.Log;
+import br.com.pinter.tqrespec.save.BlockInfo;
 import br.com.pinter.tqrespec.save.Platform;
 import br.com.pinter.tqrespec.save.UID;
 import br.com.pinter.tqrespec.save.VariableInfo;
 import br.com.pinter.tqrespec.tqdata.GameVersion;
+import br.com.pinter.tqrespec.tqdata.PlayerCharacter;
 import br.com.pinter.tqrespec.util.Constants;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
@@ -116,6 +118,31 @@ class PlayerParserTest {
 
     }
 
+    @Test
+    void buildBlocksTable_Should_mapAllBlocksFromSavegame() {
+        try {
+            playerParser.fillBuffer();
+        } catch (Exception e) {
+            logger.log(ERROR, Constants.ERROR_MSG_EXCEPTION, e);
+            fail("buildBlocksTable: fillBuffer() failed");
+        }
+        playerParser.buildBlocksTable();
+
+        ConcurrentMap<Integer, BlockInfo> blocks = playerParser.getBlockInfo();
+        assertEquals(88, blocks.size());
+        for (BlockInfo b : blocks.values()) {
+            //length prefix of begin_block and end_block
+            assertEquals(11, playerParser.getBuffer().getInt(b.getStart()));
+            assertEquals(9, playerParser.getBuffer().getInt(b.getEnd() - 16));
+            assertEquals(b.getEnd() - b.getStart() + 1, b.getSize());
+            if (b.getParentOffset() != -1) {
+                BlockInfo parent = blocks.get(b.getParentOffset());
+                assertNotNull(parent);
+                assertTrue(parent.getStart() < b.getStart() && parent.getEnd() > b.getEnd());
+            }
+        }
+    }
+
     private void parse() {
         try {
             saveData.reset();
@@ -182,6 +209,85 @@ class PlayerParserTest {
         }
     }
 
+    @Test
+    void parse_Should_parseMemoryMappedSavegame() {
+        PlayerParser mappedParser = new PlayerParser(new File("src/test/resources/_savegame/Player.chr"), "savegame");
+        mappedParser.setMemoryMapped(true);
+        try {
+            playerParser.parse();
+            mappedParser.parse();
+        } catch (Exception e) {
+            logger.log(ERROR, Constants.ERROR_MSG_EXCEPTION, e);
+            fail();
+        }
+        assertTrue(mappedParser.getBuffer().isDirect());
+        assertTrue(mappedParser.getBuffer().isReadOnly());
+        assertEquals(playerParser.getBuffer(), mappedParser.getBuffer());
+        assertEquals(playerParser.getBlockInfo().keySet(), mappedParser.getBlockInfo().keySet());
+        assertEquals(playerParser.getVariableLocation(), mappedParser.getVariableLocation());
+    }
+
+    @Test
+    void parse_Should_parseBlocksOnDemand() {
+        PlayerParser lazyParser = new PlayerParser(new File("src/test/resources/_savegame/Player.chr"), "savegame");
+        lazyParser.setLazy(true);
+        try {
+            playerParser.parse();
+            lazyParser.parse();
+        } catch (Exception e) {
+            logger.log(ERROR, Constants.ERROR_MSG_EXCEPTION, e);
+            fail();
+        }
+        assertEquals(playerParser.getVariableLocation(), lazyParser.getVariableLocation());
+        assertTrue(lazyParser.getBlockInfo().values().stream().anyMatch(b -> !b.isParsed()));
+
+        for (BlockInfo expected : playerParser.getBlockInfo().values()) {
+            BlockInfo block = lazyParser.getBlockInfo().get(expected.getStart());
+            assertEquals(expected.getBlockType(), block.getBlockType());
+            assertEquals(expected.getVariables().toString(), block.getVariables().toString());
+            assertTrue(block.isParsed());
+        }
+    }
+
+    @Test
+    void parse_Should_parseBlocksInParallel() {
+        PlayerParser parallelParser = new PlayerParser(new File("src/test/resources/_savegame/Player.chr"), "savegame");
+        parallelParser.setParallel(true);
+        try {
+            playerParser.parse();
+            parallelParser.parse();
+        } catch (Exception e) {
+            logger.log(ERROR, Constants.ERROR_MSG_EXCEPTION, e);
+            fail();
+        }
+        assertEquals(playerParser.getDetectedPlatform(), parallelParser.getDetectedPlatform());
+        assertEquals(playerParser.getVariableLocation(), parallelParser.getVariableLocation());
+
+        for (BlockInfo expected : playerParser.getBlockInfo().values()) {
+            BlockInfo block = parallelParser.getBlockInfo().get(expected.getStart());
+            assertEquals(expected.getBlockType(), block.getBlockType());
+            assertEquals(expected.getVariables().toString(), block.getVariables().toString());
+        }
+    }
+
+    @Test
+    void parseSummary_Should_readCharacterSummary() {
+        PlayerCharacter summary = playerParser.parseSummary();
+
+        assertEquals("teste4", summary.getName());
+        assertEquals(Gender.MALE, summary.getGender());
+        assertEquals(75, summary.getLevel());
+        assertEquals(2, summary.getDifficulty());
+        assertEquals(160547234, summary.getExperience());
+        assertEquals(54, summary.getStatStr());
+        assertEquals(622, summary.getStatInt());
+        assertEquals(102, summary.getStatDex());
+        assertEquals(460, summary.getStatLife());
+        assertEquals(340, summary.getStatMana());
+        assertEquals(8, summary.getStatAvailableAttrPoints());
+        assertTrue(playerParser.getBlockInfo().values().stream().anyMatch(b -> !b.isParsed()));
+    }
+
     @Test
     void parseHeader_Should_parseFileHeader() {
         try {
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+package dev.pinter.tqextract;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPipelineTest {
+    @Test
+    void finish_Should_waitAllItemsProcessedAndWritten() throws InterruptedException {
+        Set<Integer> written = ConcurrentHashMap.newKeySet();
+        AtomicInteger done = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        BoundedPipeline<Integer, Integer> pipeline = new BoundedPipeline<>("test", 3, 2,
+                i -> i % 10 == 0 ? null : i * 2,
+                written::add,
+                e -> errors.incrementAndGet(),
+                done::incrementAndGet);
+
+        for (int i = 0; i < 1000; i++) {
+            pipeline.put(i);
+        }
+        pipeline.finish();
+
+        assertEquals(1000, done.get());
+        assertEquals(900, written.size());
+        assertTrue(written.contains(2 * 999));
+        assertEquals(0, errors.get());
+    }
+
+    @Test
+    void put_Should_wait_When_writersAreBehind() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger written = new AtomicInteger();
+        BoundedPipeline<Integer, Integer> pipeline = new BoundedPipeline<>("test", 1, 1,
+                i -> i,
+                i -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    written.incrementAndGet();
+                },
+                e -> {
+                },
+                () -> {
+                });
+
+        Thread producer = Thread.ofPlatform().start(() -> {
+            try {
+                for (int i = 0; i < 100; i++) {
+                    pipeline.put(i);
+                    added.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        //the writer is blocked, so the producer must block when the queues are full
+        long deadline = System.currentTimeMillis() + 10000;
+        while (producer.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Thread.State.WAITING, producer.getState());
+        //one item in the writer, two in the output queue, one in the worker and four in the input queue
+        assertTrue(added.get() <= 8);
+
+        release.countDown();
+        producer.join();
+        pipeline.finish();
+        assertEquals(100, added.get());
+        assertEquals(100, written.get());
+    }
+
+    @Test
+    void finish_Should_complete_When_itemsFail() throws InterruptedException {
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        List<Integer> written = new CopyOnWriteArrayList<>();
+        AtomicInteger done = new AtomicInteger();
+        BoundedPipeline<Integer, Integer> pipeline = new BoundedPipeline<>("test", 1, 1,
+                i -> {
+                    if (i == 3) {
+                        throw new IllegalStateException("process " + i);
+                    } else if (i == 5) {
+                        throw new Error("process " + i);
+                    }
+                    return i;
+                },
+                i -> {
+                    if (i == 7) {
+                        throw new Error("write " + i);
+                    }
+                    written.add(i);
+                },
+                errors::add,
+                done::incrementAndGet);
+
+        for (int i = 0; i < 10; i++) {
+            pipeline.put(i);
+        }
+        pipeline.finish();
+
+        assertEquals(10, done.get());
+        assertEquals(3, errors.size());
+        assertEquals(List.of(0, 1, 2, 4, 6, 8, 9), written);
+    }
+}
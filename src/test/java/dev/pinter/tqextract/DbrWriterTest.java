@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+package dev.pinter.tqextract;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DbrWriterTest {
+    private static void assertSameAsJoined(List<String> lines) {
+        byte[] expected = String.join(System.lineSeparator(), lines).getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, DbrWriter.write(lines));
+    }
+
+    @Test
+    void write_Should_encodeLikeJoinedString_When_asciiLines() {
+        assertSameAsJoined(List.of("templateName,database\\templates\\monster.tpl,", "characterLife,300.000000,",
+                "", "skillName1,records\\skills\\monster\\attack.dbr,"));
+    }
+
+    @Test
+    void write_Should_encodeLikeJoinedString_When_nonAsciiLines() {
+        assertSameAsJoined(List.of("description,Espada flamejante de Hércules,",
+                "description,Меч Геракла,",
+                "description,ヘラクレスの剣,",
+                "description,sword 🗡️ of 𐐷,",
+                "value,\u007F\u0080߿ࠀ￿,"));
+    }
+
+    @Test
+    void write_Should_encodeLikeJoinedString_When_emptyLines() {
+        assertSameAsJoined(List.of());
+        assertSameAsJoined(List.of(""));
+        assertSameAsJoined(List.of("", ""));
+    }
+
+    @Test
+    void write_Should_throw_When_malformedSurrogate() {
+        assertThrows(IllegalArgumentException.class, () -> DbrWriter.write(List.of("description,\uD83D,")));
+        assertThrows(IllegalArgumentException.class, () -> DbrWriter.write(List.of("description,\uDDE1\uD83D,")));
+        assertThrows(IllegalArgumentException.class, () -> DbrWriter.write(List.of("description,\uD83D")));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2026 Emerson Pinter - All Rights Reserved
+ */
+
+package dev.pinter.tqextract;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExtractManifestTest {
+    private static final String OPTIONS = "dds=false";
+
+    @TempDir
+    Path tempDir;
+
+    private Path arc;
+    private Path outputDir;
+    private Path fileA;
+    private Path fileB;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        arc = tempDir.resolve("Creatures.arc");
+        Files.write(arc, new byte[100]);
+        outputDir = tempDir.resolve("output");
+        fileA = outputDir.resolve("Creatures.arc/a/a.txt");
+        fileB = outputDir.resolve("Creatures.arc/b/b.txt");
+
+        ExtractManifest manifest = new ExtractManifest(outputDir, OPTIONS);
+        assertFalse(manifest.checkSource(arc));
+        write(manifest, fileA, "a");
+        write(manifest, fileB, "b");
+        assertEquals(0, manifest.save());
+    }
+
+    private void write(ExtractManifest manifest, Path file, String data) throws IOException {
+        ExtractManifest.Entry entry = manifest.entry(arc, file, data.getBytes());
+        assertFalse(manifest.isUnchanged(entry));
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, data);
+        manifest.written(entry);
+    }
+
+    private void modifyArc() throws IOException {
+        Files.setLastModifiedTime(arc, FileTime.fromMillis(Files.getLastModifiedTime(arc).toMillis() - 10000));
+    }
+
+    @Test
+    void checkSource_Should_keepAllFiles_When_sourceUnchanged() throws IOException {
+        ExtractManifest manifest = new ExtractManifest(outputDir, OPTIONS);
+        assertTrue(manifest.checkSource(arc));
+        assertEquals(0, manifest.save());
+
+        assertTrue(Files.exists(fileA));
+        assertTrue(Files.exists(fileB));
+        assertTrue(new ExtractManifest(outputDir, OPTIONS).checkSource(arc));
+    }
+
+    @Test
+    void isUnchanged_Should_compareChecksum_When_sourceModified() throws IOException {
+        modifyArc();
+        ExtractManifest manifest = new ExtractManifest(outputDir, OPTIONS);
+        assertFalse(manifest.checkSource(arc));
+        assertTrue(manifest.isUnchanged(manifest.entry(arc, fileA, "a".getBytes())));
+        assertFalse(manifest.isUnchanged(manifest.entry(arc, fileB, "b2".getBytes())));
+    }
+
+    @Test
+    void isUnchanged_Should_returnFalse_When_fileDeleted() throws IOException {
+        Files.delete(fileA);
+        modifyArc();
+        ExtractManifest manifest = new ExtractManifest(outputDir, OPTIONS);
+        assertFalse(manifest.checkSource(arc));
+        assertFalse(manifest.isUnchanged(manifest.entry(arc, fileA, "a".getBytes())));
+    }
+
+    @Test
+    void save_Should_deleteFile_When_entryRemoved() throws IOException {
+        modifyArc();
+        ExtractManifest manifest = new ExtractManifest(outputDir, OPTIONS);
+        assertFalse(manifest.checkSource(arc));
+        assertTrue(manifest.isUnchanged(manifest.entry(arc, fileA, "a".getBytes())));
+        assertEquals(1, manifest.save());
+
+        assertTrue(Files.exists(fileA));
+        assertFalse(Files.exists(fileB));
+        assertFalse(Files.exists(fileB.getParent()));
+    }
+
+    @Test
+    void save_Should_deleteFiles_When_sourceRemoved() throws IOException {
+        Files.delete(arc);
+        assertEquals(2, new ExtractManifest(outputDir, OPTIONS).save());
+        assertFalse(Files.exists(fileA));
+        assertFalse(Files.exists(fileB));
+    }
+
+    @Test
+    void save_Should_keepFiles_When_sourceNotChecked() throws IOException {
+        assertEquals(0, new ExtractManifest(outputDir, OPTIONS).save());
+        assertTrue(Files.exists(fileA));
+        assertTrue(new ExtractManifest(outputDir, OPTIONS).checkSource(arc));
+    }
+
+    @Test
+    void save_Should_keepFiles_When_sourceFailed() throws IOException {
+        modifyArc();
+        ExtractManifest manifest = new ExtractManifest(outputDir, OPTIONS);
+        assertFalse(manifest.checkSource(arc));
+        //b was modified, but the write failed and the file still has the previous content
+        ExtractManifest.Entry entryB = manifest.entry(arc, fileB, "b2".getBytes());
+        assertFalse(manifest.isUnchanged(entryB));
+        manifest.failed(arc);
+        assertEquals(0, manifest.save());
+        assertTrue(Files.exists(fileA));
+        assertTrue(Files.exists(fileB));
+
+        manifest = new ExtractManifest(outputDir, OPTIONS);
+        assertFalse(manifest.checkSource(arc));
+        assertFalse(manifest.isUnchanged(entryB));
+        assertTrue(manifest.isUnchanged(manifest.entry(arc, fileB, "b".getBytes())));
+    }
+
+    @Test
+    void checkSource_Should_returnFalse_When_optionsChanged() throws IOException {
+        ExtractManifest manifest = new ExtractManifest(outputDir, "dds=true");
+        assertFalse(manifest.checkSource(arc));
+        assertFalse(manifest.isUnchanged(manifest.entry(arc, fileA, "a".getBytes())));
+        write(manifest, fileA, "a");
+        assertEquals(1, manifest.save());
+        assertTrue(Files.exists(fileA));
+        assertFalse(Files.exists(fileB));
+    }
+
+    @Test
+    void isUnchanged_Should_keepDerivedFiles_When_entryUnchanged() throws IOException {
+        Path map = outputDir.resolve("Creatures.arc/world.map");
+        Path wrl = outputDir.resolve("Creatures.arc/source.world.map/world.wrl");
+        ExtractManifest manifest = new ExtractManifest(outputDir, OPTIONS);
+        modifyArc();
+        assertFalse(manifest.checkSource(arc));
+        assertTrue(manifest.isUnchanged(manifest.entry(arc, fileA, "a".getBytes())));
+        assertTrue(manifest.isUnchanged(manifest.entry(arc, fileB, "b".getBytes())));
+        write(manifest, map, "map");
+        Files.createDirectories(wrl.getParent());
+        Files.writeString(wrl, "wrl");
+        manifest.written(manifest.entry(arc, map, "map".getBytes()), wrl);
+        manifest.save();
+
+        modifyArc();
+        manifest = new ExtractManifest(outputDir, OPTIONS);
+        assertFalse(manifest.checkSource(arc));
+        assertTrue(manifest.isUnchanged(manifest.entry(arc, map, "map".getBytes())));
+        assertEquals(2, manifest.save());
+        assertTrue(Files.exists(wrl));
+
+        modifyArc();
+        manifest = new ExtractManifest(outputDir, OPTIONS);
+        assertFalse(manifest.checkSource(arc));
+        assertFalse(manifest.isUnchanged(manifest.entry(arc, map, "map2".getBytes())));
+        assertEquals(2, manifest.save());
+        assertFalse(Files.exists(wrl));
+    }
+}